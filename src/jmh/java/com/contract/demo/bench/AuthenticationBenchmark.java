@@ -0,0 +1,49 @@
+package com.contract.demo.bench;
+
+import com.contract.demo.config.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request authentication lookup: loadUserByUsername followed by
+ * getAuthorities, served from the principal cache and, for comparison,
+ * with the cache entry evicted so every call goes to the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    private BenchmarkApplication app;
+    private CustomUserDetailsService userDetailsService;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        app = BenchmarkApplication.start();
+        userDetailsService = app.bean(CustomUserDetailsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        app.close();
+    }
+
+    @Benchmark
+    public void cached(Blackhole bh) {
+        UserDetails user = userDetailsService.loadUserByUsername("legal");
+        bh.consume(user.getAuthorities());
+    }
+
+    @Benchmark
+    public void uncached(Blackhole bh) {
+        userDetailsService.evict("legal");
+        UserDetails user = userDetailsService.loadUserByUsername("legal");
+        bh.consume(user.getAuthorities());
+    }
+}
@@ -0,0 +1,78 @@
+package com.contract.demo.bench;
+
+import com.contract.demo.Demo;
+import com.contract.demo.service.WorkflowEngine;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+
+/**
+ * The application without its web layer, on a throwaway embedded PostgreSQL,
+ * seeded with one user per role and the default Legal -> Finance -> Client
+ * workflow. One instance per benchmark fork.
+ */
+final class BenchmarkApplication implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static BenchmarkApplication start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+
+        // command-line arguments, so they win over application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Demo.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                                + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=ERROR",
+                        "--search.mode=postgres");
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("insert into roles (name) values ('SUPER_ADMIN'), ('LEGAL_USER'), ('FINANCE_REVIEWER'), ('CLIENT')");
+        jdbc.update("insert into users (username, email, password) values "
+                + "('admin', 'admin@bench', 'admin'), ('legal', 'legal@bench', 'legal'), "
+                + "('finance', 'finance@bench', 'finance'), ('client', 'client@bench', 'client')");
+        jdbc.update("""
+                insert into user_roles (user_id, role_id)
+                select u.id, r.id from users u join roles r
+                  on (u.username, r.name) in (('admin', 'SUPER_ADMIN'), ('legal', 'LEGAL_USER'),
+                                              ('finance', 'FINANCE_REVIEWER'), ('client', 'CLIENT'))
+                """);
+        jdbc.update("insert into workflow_mapping (from_role, to_role, active) values "
+                + "('LEGAL_USER', 'FINANCE_REVIEWER', true), ('FINANCE_REVIEWER', 'CLIENT', true)");
+        context.getBean(WorkflowEngine.class).reload();
+
+        return new BenchmarkApplication(postgres, context);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+
+    Long userId(String username) {
+        return jdbc().queryForObject("select id from users where username = ?", Long.class, username);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.contract.demo.bench;
+
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.entity.ContractStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of contract list responses, configured the way
+ * Spring MVC configures its ObjectMapper. Needs no database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContractJsonBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int rows;
+
+    private ObjectMapper mapper;
+    private List<ContractResponse> contracts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        ContractStatus[] statuses = ContractStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+        contracts = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            contracts.add(new ContractResponse((long) i, "Contract " + i, BigDecimal.valueOf(100_000 + i, 2),
+                    statuses[i % statuses.length], "LEGAL_USER", LocalDate.of(2025, 1, 1).plusDays(i % 365),
+                    (long) (i % 500), now.minusMinutes(i), now));
+        }
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        mapper.writeValue(OutputStream.nullOutputStream(), contracts);
+    }
+}
@@ -0,0 +1,123 @@
+package com.contract.demo.bench;
+
+import com.contract.demo.config.CustomUserDetails;
+import com.contract.demo.config.CustomUserDetailsService;
+import com.contract.demo.dto.ClientDecisionRequest;
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.dto.FinanceReviewRequest;
+import com.contract.demo.dto.LegalReviewRequest;
+import com.contract.demo.service.ClientService;
+import com.contract.demo.service.FinanceReviewerService;
+import com.contract.demo.service.LegalUserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One approving review per service, end to end: state read, workflow
+ * lookup, compare-and-set update, counters and audit. Each invocation gets
+ * a fresh contract waiting in the right stage; creating it is not measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReviewBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class App {
+
+        BenchmarkApplication app;
+        Long clientUserId;
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            app = BenchmarkApplication.start();
+            clientUserId = app.userId("client");
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws Exception {
+            app.close();
+        }
+
+        Long insertContract(String status, String assignedRole) {
+            return app.jdbc().queryForObject("""
+                    insert into contracts (contract_name, contract_amount, status, assigned_role, client_user_id,
+                                           active, created_at, updated_at, version, current_version)
+                    values ('bench', 1000.00, ?, ?, ?, true, now(), now(), 0, 0)
+                    returning id
+                    """, Long.class, status, assignedRole, clientUserId);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reviewer {
+
+        Long contractId;
+
+        // the finance service reads the reviewer from the security context
+        @Setup(Level.Trial)
+        public void login(App app) {
+            CustomUserDetails user = (CustomUserDetails) app.app.bean(CustomUserDetailsService.class)
+                    .loadUserByUsername("finance");
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LegalStage extends Reviewer {
+
+        @Setup(Level.Invocation)
+        public void contract(App app) {
+            contractId = app.insertContract("LEGAL_REVIEW", "LEGAL_USER");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FinanceStage extends Reviewer {
+
+        @Setup(Level.Invocation)
+        public void contract(App app) {
+            contractId = app.insertContract("FINANCE_REVIEW", "FINANCE_REVIEWER");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ClientStage extends Reviewer {
+
+        @Setup(Level.Invocation)
+        public void contract(App app) {
+            contractId = app.insertContract("FINANCE_APPROVED", "CLIENT");
+        }
+    }
+
+    @Benchmark
+    public ContractResponse legalReview(App app, LegalStage stage) {
+        LegalReviewRequest request = new LegalReviewRequest();
+        request.setContractId(stage.contractId);
+        request.setApproved(true);
+        return app.app.bean(LegalUserService.class).reviewContract(request);
+    }
+
+    @Benchmark
+    public ContractResponse financeReview(App app, FinanceStage stage) {
+        FinanceReviewRequest request = new FinanceReviewRequest();
+        request.setContractId(stage.contractId);
+        request.setApproved(true);
+        request.setRemarks("within budget");
+        return app.app.bean(FinanceReviewerService.class).reviewContract(request, "finance");
+    }
+
+    @Benchmark
+    public ContractResponse clientReview(App app, ClientStage stage) {
+        ClientDecisionRequest request = new ClientDecisionRequest();
+        request.setContractId(stage.contractId);
+        request.setApproved(true);
+        return app.app.bean(ClientService.class).review(request, app.clientUserId);
+    }
+}
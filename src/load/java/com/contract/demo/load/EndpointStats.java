@@ -0,0 +1,56 @@
+package com.contract.demo.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and SQL statement counts for one endpoint. Every sample is kept,
+ * so percentiles are exact; fine for runs of a few million requests.
+ */
+final class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int samples;
+    private int errors;
+    private long queryTotal;
+    private int queryMax;
+    private int querySamples;
+
+    synchronized void record(long latencyNanos, int queries, boolean ok) {
+        if (samples == latencies.length) {
+            latencies = Arrays.copyOf(latencies, samples * 2);
+        }
+        latencies[samples++] = latencyNanos;
+        if (!ok) {
+            errors++;
+        }
+        if (queries >= 0) {
+            queryTotal += queries;
+            queryMax = Math.max(queryMax, queries);
+            querySamples++;
+        }
+    }
+
+    synchronized Summary summarize(String endpoint, double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        return new Summary(endpoint, samples, errors, samples / elapsedSeconds,
+                millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+                querySamples == 0 ? null : (double) queryTotal / querySamples,
+                querySamples == 0 ? null : queryMax);
+    }
+
+    // nearest-rank percentile
+    private static double millis(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    record Summary(String endpoint, int requests, int errors, double throughput,
+                   double p50Ms, double p95Ms, double p99Ms, double maxMs,
+                   Double avgQueries, Integer maxQueries) {
+    }
+}
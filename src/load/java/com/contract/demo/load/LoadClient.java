@@ -0,0 +1,90 @@
+package com.contract.demo.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP Basic calls against the running application. Every call is timed
+ * and filed under its endpoint template together with the X-Query-Count
+ * the server reported.
+ */
+final class LoadClient {
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    LoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    Map<String, EndpointStats> stats() {
+        return stats;
+    }
+
+    JsonNode get(String endpoint, String path, String username) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), username);
+    }
+
+    JsonNode post(String endpoint, String path, Object body, String username) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body))), username);
+    }
+
+    // usernames double as passwords for every user the harness creates
+    private JsonNode send(String endpoint, HttpRequest.Builder builder, String username) {
+        String credentials = Base64.getEncoder()
+                .encodeToString((username + ":" + username).getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = builder.header("Authorization", "Basic " + credentials).build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            record(endpoint, System.nanoTime() - start, -1, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int queries = response.headers().firstValue("X-Query-Count").map(Integer::parseInt).orElse(-1);
+        boolean ok = response.statusCode() < 400;
+        record(endpoint, elapsed, queries, ok);
+
+        if (!ok) {
+            return null;
+        }
+        try {
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void record(String endpoint, long nanos, int queries, boolean ok) {
+        stats.computeIfAbsent(endpoint, e -> new EndpointStats()).record(nanos, queries, ok);
+    }
+
+    private String json(Object body) {
+        try {
+            return mapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
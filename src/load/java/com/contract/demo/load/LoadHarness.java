@@ -0,0 +1,313 @@
+package com.contract.demo.load;
+
+import com.contract.demo.Demo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end workload for the Legal -> Finance -> Client pipeline.
+ *
+ * Boots the application on a random port with per-request SQL counting,
+ * seeds users and workflow mappings through the super-admin API, then runs
+ * concurrent actors over HTTP Basic for load.duration seconds:
+ * <ul>
+ *   <li>legal actors create contracts, approve most of them and page their inbox</li>
+ *   <li>finance actors review what Legal forwarded</li>
+ *   <li>client actors page their inbox and decide on what Finance approved</li>
+ * </ul>
+ * Prints throughput, p50/p95/p99 latency and SQL statements per endpoint and
+ * writes the same as JSON to load.report.
+ *
+ * <pre>
+ *   mvn -Pload verify -Dload.legal=8 -Dload.finance=4 -Dload.clients=4 -Dload.duration=120
+ *   mvn -Pload verify -Dload.jdbc-url=jdbc:postgresql://localhost:5432/loaddb -Dload.jdbc-user=... -Dload.jdbc-password=...
+ * </pre>
+ * Without load.jdbc-url an embedded PostgreSQL is used.
+ */
+public final class LoadHarness {
+
+    private static final double APPROVAL_RATE = 0.9;
+
+    private final LoadClient client;
+    private final String prefix;
+    private final long deadline;
+
+    private final BlockingQueue<Job> financeQueue = new LinkedBlockingQueue<>();
+    private final Map<String, BlockingQueue<Job>> clientQueues = new ConcurrentHashMap<>();
+    private volatile boolean legalDone;
+    private volatile boolean financeDone;
+
+    private LoadHarness(LoadClient client, String prefix, long deadline) {
+        this.client = client;
+        this.prefix = prefix;
+        this.deadline = deadline;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int legal = Integer.getInteger("load.legal", 4);
+        int finance = Integer.getInteger("load.finance", 4);
+        int clients = Integer.getInteger("load.clients", 4);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration", 60));
+        Path report = Path.of(System.getProperty("load.report", "target/load/report.json"));
+
+        EmbeddedPostgres embedded = null;
+        String jdbcUrl = System.getProperty("load.jdbc-url", "");
+        String jdbcUser = System.getProperty("load.jdbc-user", "postgres");
+        String jdbcPassword = System.getProperty("load.jdbc-password", "");
+        if (jdbcUrl.isBlank()) {
+            embedded = EmbeddedPostgres.builder().start();
+            jdbcUrl = embedded.getJdbcUrl("postgres", "postgres");
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Demo.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + jdbcUser,
+                "--spring.datasource.password=" + jdbcPassword,
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=ERROR",
+                "--diagnostics.query-count.enabled=true");
+
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String prefix = "load" + Long.toString(System.currentTimeMillis(), 36);
+
+            LoadHarness harness = new LoadHarness(new LoadClient(baseUrl), prefix,
+                    System.nanoTime() + duration.toNanos());
+            harness.bootstrapAdmin(context.getBean(JdbcTemplate.class));
+
+            long start = System.nanoTime();
+            harness.run(legal, finance, clients);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            harness.report(elapsed, Map.of("legal", legal, "finance", finance, "clients", clients,
+                    "durationSeconds", duration.toSeconds()), report);
+        } finally {
+            context.close();
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    // ===== SETUP =====
+
+    // The only rows written directly: roles have no API, and the API needs an admin to start with
+    private void bootstrapAdmin(JdbcTemplate jdbc) {
+        jdbc.update("insert into roles (name) select r from unnest(array['SUPER_ADMIN', 'LEGAL_USER', "
+                + "'FINANCE_REVIEWER', 'CLIENT']) r where not exists (select 1 from roles where name = r)");
+        String admin = prefix + "-admin";
+        jdbc.update("insert into users (username, email, password) values (?, ?, ?)", admin, admin + "@load", admin);
+        jdbc.update("insert into user_roles (user_id, role_id) select u.id, r.id from users u, roles r "
+                + "where u.username = ? and r.name = 'SUPER_ADMIN'", admin);
+    }
+
+    private String createUser(String name, String role) {
+        String username = prefix + "-" + name;
+        JsonNode user = client.post("POST /api/super-admin/users", "/api/super-admin/users", Map.of(
+                "username", username, "email", username + "@load", "password", username,
+                "roles", Set.of(role)), prefix + "-admin");
+        if (user == null) {
+            throw new IllegalStateException("Could not create user " + username);
+        }
+        return username + ":" + user.get("id").asLong();
+    }
+
+    private void mapWorkflow(String from, String to) {
+        client.post("POST /api/super-admin/workflow", "/api/super-admin/workflow",
+                Map.of("fromRole", from, "toRole", to), prefix + "-admin");
+    }
+
+    // ===== RUN =====
+
+    private void run(int legal, int finance, int clients) throws InterruptedException {
+
+        List<String> legalUsers = new ArrayList<>();
+        List<String> financeUsers = new ArrayList<>();
+        List<String> clientUsers = new ArrayList<>();
+        for (int i = 0; i < legal; i++) {
+            legalUsers.add(createUser("legal" + i, "LEGAL_USER"));
+        }
+        for (int i = 0; i < finance; i++) {
+            financeUsers.add(createUser("finance" + i, "FINANCE_REVIEWER"));
+        }
+        for (int i = 0; i < clients; i++) {
+            String c = createUser("client" + i, "CLIENT");
+            clientUsers.add(c);
+            clientQueues.put(username(c), new LinkedBlockingQueue<>());
+        }
+        mapWorkflow("LEGAL_USER", "FINANCE_REVIEWER");
+        mapWorkflow("FINANCE_REVIEWER", "CLIENT");
+
+        ExecutorService pool = Executors.newFixedThreadPool(legal + finance + clients);
+        CountDownLatch legalLatch = new CountDownLatch(legal);
+        CountDownLatch financeLatch = new CountDownLatch(finance);
+        CountDownLatch clientLatch = new CountDownLatch(clients);
+
+        legalUsers.forEach(u -> pool.submit(() -> runAndCount(() -> legalActor(username(u), clientUsers), legalLatch)));
+        financeUsers.forEach(u -> pool.submit(() -> runAndCount(() -> financeActor(username(u)), financeLatch)));
+        clientUsers.forEach(u -> pool.submit(() -> runAndCount(() -> clientActor(username(u), id(u)), clientLatch)));
+
+        // stages finish in order, each once the one before it has drained
+        legalLatch.await();
+        legalDone = true;
+        financeLatch.await();
+        financeDone = true;
+        clientLatch.await();
+        pool.shutdown();
+    }
+
+    private void legalActor(String username, List<String> clientUsers) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int iteration = 0;
+
+        while (System.nanoTime() < deadline) {
+            String target = clientUsers.get(random.nextInt(clientUsers.size()));
+
+            JsonNode created = client.post("POST /api/legal/contracts", "/api/legal/contracts", Map.of(
+                    "contractName", "Load contract " + random.nextInt(1_000_000),
+                    "clientId", id(target),
+                    "contractAmount", random.nextInt(1_000, 1_000_000) + ".00"), username);
+            if (created == null) {
+                continue;
+            }
+            long contractId = created.get("id").asLong();
+
+            boolean approved = random.nextDouble() < APPROVAL_RATE;
+            JsonNode reviewed = client.post("POST /api/legal/review", "/api/legal/review",
+                    Map.of("contractId", contractId, "approved", approved), username);
+            if (reviewed != null && approved) {
+                financeQueue.add(new Job(contractId, username(target)));
+            }
+
+            if (++iteration % 5 == 0) {
+                client.get("GET /api/legal/contracts/page", "/api/legal/contracts/page?size=50", username);
+            }
+        }
+    }
+
+    private void financeActor(String username) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Job job = poll(financeQueue);
+            if (job == null) {
+                if (legalDone && financeQueue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+
+            boolean approved = random.nextDouble() < APPROVAL_RATE;
+            JsonNode reviewed = client.post("POST /api/finance/review", "/api/finance/review", Map.of(
+                    "contractId", job.contractId(), "approved", approved, "remarks", "load test"), username);
+            if (reviewed != null && approved) {
+                clientQueues.get(job.clientUsername()).add(job);
+            }
+        }
+    }
+
+    private void clientActor(String username, long userId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BlockingQueue<Job> queue = clientQueues.get(username);
+        while (true) {
+            Job job = poll(queue);
+            if (job == null) {
+                if (financeDone && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+
+            client.get("GET /client/contracts/page", "/client/contracts/page?size=20", username);
+            client.post("POST /client/review", "/client/review", Map.of(
+                    "contractId", job.contractId(), "approved", random.nextDouble() < APPROVAL_RATE), username);
+        }
+    }
+
+    // ===== REPORT =====
+
+    private void report(double elapsed, Map<String, Object> config, Path path) throws Exception {
+
+        List<EndpointStats.Summary> summaries = client.stats().entrySet().stream()
+                .map(e -> e.getValue().summarize(e.getKey(), elapsed))
+                .sorted(Comparator.comparing(EndpointStats.Summary::endpoint))
+                .toList();
+
+        System.out.printf("%nLoad run: %s, %.1fs%n%n", config, elapsed);
+        System.out.printf("%-34s %8s %6s %9s %9s %9s %9s %9s %8s %8s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "avg sql", "max sql");
+        for (EndpointStats.Summary s : summaries) {
+            System.out.printf("%-34s %8d %6d %9.1f %9.2f %9.2f %9.2f %9.2f %8s %8s%n",
+                    s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(),
+                    s.maxMs(), s.avgQueries() == null ? "-" : String.format("%.1f", s.avgQueries()),
+                    s.maxQueries() == null ? "-" : s.maxQueries());
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("config", config);
+        json.put("elapsedSeconds", elapsed);
+        json.put("endpoints", summaries);
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), json);
+        System.out.println("\nReport written to " + path.toAbsolutePath());
+    }
+
+    // ===== HELPERS =====
+
+    private static void runAndCount(Runnable actor, CountDownLatch latch) {
+        try {
+            actor.run();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        } finally {
+            latch.countDown();
+        }
+    }
+
+    private static Job poll(BlockingQueue<Job> queue) {
+        try {
+            return queue.poll(100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // users are carried around as "username:id"
+    private static String username(String user) {
+        return user.substring(0, user.lastIndexOf(':'));
+    }
+
+    private static long id(String user) {
+        return Long.parseLong(user.substring(user.lastIndexOf(':') + 1));
+    }
+
+    private record Job(long contractId, String clientUsername) {
+    }
+}
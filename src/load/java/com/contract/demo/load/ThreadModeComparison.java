@@ -0,0 +1,210 @@
+package com.contract.demo.load;
+
+import com.contract.demo.Demo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the same read-heavy workload against the application twice, once on
+ * Tomcat's platform thread pool and once on virtual threads behind the DB
+ * bulkhead, and compares throughput, latency and bulkhead rejections.
+ *
+ * load.concurrency clients (themselves virtual threads) page the legal inbox
+ * and open contract details for load.duration seconds per mode. The data is
+ * seeded once and shared by both runs.
+ *
+ * <pre>
+ *   mvn -Pload verify -Dload.main=com.contract.demo.load.ThreadModeComparison -Dload.concurrency=800
+ * </pre>
+ */
+public final class ThreadModeComparison {
+
+    private static final int CONTRACTS = 500;
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 400);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration", 60));
+        Path report = Path.of(System.getProperty("load.report", "target/load/report.json"));
+
+        EmbeddedPostgres embedded = null;
+        String jdbcUrl = System.getProperty("load.jdbc-url", "");
+        String jdbcUser = System.getProperty("load.jdbc-user", "postgres");
+        String jdbcPassword = System.getProperty("load.jdbc-password", "");
+        if (jdbcUrl.isBlank()) {
+            embedded = EmbeddedPostgres.builder().start();
+            jdbcUrl = embedded.getJdbcUrl("postgres", "postgres");
+        }
+
+        String prefix = "tm" + Long.toString(System.currentTimeMillis(), 36);
+        Map<String, Object> results = new LinkedHashMap<>();
+        try {
+            List<Long> contractIds = null;
+            for (String mode : List.of("platform", "virtual")) {
+                boolean virtual = mode.equals("virtual");
+                ConfigurableApplicationContext context = new SpringApplicationBuilder(Demo.class).run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + jdbcUser,
+                        "--spring.datasource.password=" + jdbcPassword,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--db.bulkhead.enabled=" + virtual);
+                try {
+                    LoadClient client = new LoadClient(
+                            "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                    if (contractIds == null) {
+                        contractIds = seed(context.getBean(JdbcTemplate.class), client, prefix);
+                    }
+
+                    double elapsed = drive(client, prefix + "-legal", contractIds, concurrency, duration);
+                    results.put(mode, summarize(client, elapsed, context.getBean(MeterRegistry.class)));
+                } finally {
+                    context.close();
+                }
+            }
+
+            report(Map.of("concurrency", concurrency, "durationSeconds", duration.toSeconds(),
+                    "contracts", CONTRACTS), results, report);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    // ===== SETUP =====
+
+    private static List<Long> seed(JdbcTemplate jdbc, LoadClient client, String prefix) {
+        jdbc.update("insert into roles (name) select r from unnest(array['SUPER_ADMIN', 'LEGAL_USER', "
+                + "'FINANCE_REVIEWER', 'CLIENT']) r where not exists (select 1 from roles where name = r)");
+        String admin = prefix + "-admin";
+        jdbc.update("insert into users (username, email, password) values (?, ?, ?)", admin, admin + "@load", admin);
+        jdbc.update("insert into user_roles (user_id, role_id) select u.id, r.id from users u, roles r "
+                + "where u.username = ? and r.name = 'SUPER_ADMIN'", admin);
+
+        String legal = prefix + "-legal";
+        client.post("POST /api/super-admin/users", "/api/super-admin/users", Map.of(
+                "username", legal, "email", legal + "@load", "password", legal,
+                "roles", Set.of("LEGAL_USER")), admin);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> ids = new ArrayList<>(CONTRACTS);
+        for (int i = 0; i < CONTRACTS; i++) {
+            JsonNode created = client.post("POST /api/legal/contracts", "/api/legal/contracts", Map.of(
+                    "contractName", "Thread mode contract " + i,
+                    "contractAmount", random.nextInt(1_000, 1_000_000) + ".00"), legal);
+            if (created != null) {
+                ids.add(created.get("id").asLong());
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Could not seed contracts");
+        }
+
+        // seeding calls are not part of the comparison
+        client.stats().clear();
+        return ids;
+    }
+
+    // ===== RUN =====
+
+    private static double drive(LoadClient client, String username, List<Long> contractIds,
+                                int concurrency, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        if (random.nextInt(4) == 0) {
+                            client.get("GET /api/legal/contracts/page", "/api/legal/contracts/page?size=50", username);
+                        } else {
+                            long id = contractIds.get(random.nextInt(contractIds.size()));
+                            client.get("GET /api/legal/contracts/{id}", "/api/legal/contracts/" + id, username);
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    // ===== REPORT =====
+
+    private static Map<String, Object> summarize(LoadClient client, double elapsed, MeterRegistry registry) {
+        List<EndpointStats.Summary> endpoints = client.stats().entrySet().stream()
+                .map(e -> e.getValue().summarize(e.getKey(), elapsed))
+                .sorted(Comparator.comparing(EndpointStats.Summary::endpoint))
+                .toList();
+
+        Map<String, Object> mode = new LinkedHashMap<>();
+        mode.put("elapsedSeconds", elapsed);
+        mode.put("endpoints", endpoints);
+
+        Counter rejected = registry.find("db.bulkhead.rejected").counter();
+        Timer wait = registry.find("db.bulkhead.wait").timer();
+        if (rejected != null && wait != null) {
+            mode.put("bulkheadRejected", (long) rejected.count());
+            mode.put("bulkheadWaitMaxMs", wait.max(TimeUnit.MILLISECONDS));
+            mode.put("bulkheadWaitMeanMs", wait.mean(TimeUnit.MILLISECONDS));
+        }
+        return mode;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void report(Map<String, Object> config, Map<String, Object> results, Path path) throws Exception {
+
+        System.out.printf("%nThread mode comparison: %s%n", config);
+        for (Map.Entry<String, Object> entry : results.entrySet()) {
+            Map<String, Object> mode = (Map<String, Object>) entry.getValue();
+            System.out.printf("%n[%s] %.1fs%s%n", entry.getKey(), (Double) mode.get("elapsedSeconds"),
+                    mode.containsKey("bulkheadRejected")
+                            ? String.format(", bulkhead rejected %d, wait max %.1f ms", mode.get("bulkheadRejected"),
+                            (Double) mode.get("bulkheadWaitMaxMs"))
+                            : "");
+            System.out.printf("%-34s %8s %6s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+            for (EndpointStats.Summary s : (List<EndpointStats.Summary>) mode.get("endpoints")) {
+                System.out.printf("%-34s %8d %6d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        s.endpoint(), s.requests(), s.errors(), s.throughput(),
+                        s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs());
+            }
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("config", config);
+        json.putAll(results);
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), json);
+        System.out.println("\nReport written to " + path.toAbsolutePath());
+    }
+}
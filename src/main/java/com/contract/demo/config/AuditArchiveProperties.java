@@ -0,0 +1,23 @@
+package com.contract.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "audit.archive")
+public class AuditArchiveProperties {
+
+    // segment and index files; must be shared storage when several nodes serve audit queries
+    private Path path = Path.of("data/audit-archive");
+
+    // whole months kept in the database besides the current one
+    private int retentionMonths = 3;
+
+    // monthly partitions created ahead of time
+    private int premakeMonths = 2;
+
+    // records per compressed block; the unit a query reads
+    private int blockSize = 1000;
+}
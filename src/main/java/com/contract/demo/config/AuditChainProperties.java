@@ -0,0 +1,21 @@
+package com.contract.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "audit.chain")
+public class AuditChainProperties {
+
+    // records per Merkle checkpoint; also the unit of parallel verification
+    private int checkpointSize = 1024;
+
+    // verification threads; 0 means one per available processor
+    private int verifyParallelism = 0;
+
+    // legacy records chained per transaction on startup
+    private int backfillBatchSize = 5000;
+
+    // failures listed in a verification report
+    private int maxReportedFailures = 100;
+}
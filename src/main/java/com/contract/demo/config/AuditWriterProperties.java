@@ -0,0 +1,30 @@
+package com.contract.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "audit.writer")
+public class AuditWriterProperties {
+
+    private int queueCapacity = 10_000;
+
+    // max rows per JDBC batch
+    private int flushSize = 500;
+
+    // max time a queued record waits before its batch is flushed
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    // how long BLOCK waits for queue space before writing inline
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    public enum OverflowPolicy {
+        BLOCK,       // wait up to offerTimeout, then write on the caller thread
+        CALLER_RUNS, // write on the caller thread immediately
+        DROP         // discard the record and log a warning
+    }
+}
@@ -0,0 +1,17 @@
+package com.contract.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "contracts.claim")
+public class ContractClaimProperties {
+
+    // how long a claimed contract stays reserved for its reviewer; claiming again renews it
+    private Duration lease = Duration.ofMinutes(15);
+
+    // most contracts one claim may lease
+    private int maxCount = 50;
+}
@@ -0,0 +1,22 @@
+package com.contract.demo.config;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "contracts.escalation")
+public class ContractEscalationProperties {
+
+    private boolean enabled = true;
+
+    // how long a contract may wait in a status before it is escalated; statuses not listed never are
+    private Map<ContractStatus, Duration> sla = new EnumMap<>(ContractStatus.class);
+
+    // contracts claimed and escalated per transaction
+    private int batchSize = 200;
+}
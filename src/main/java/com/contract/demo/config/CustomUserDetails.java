@@ -1,28 +1,67 @@
 package com.contract.demo.config;
 
+import com.contract.demo.entity.Role;
 import com.contract.demo.entity.User;
-import lombok.RequiredArgsConstructor;
+import com.contract.demo.service.RolePermissions.PermissionTable;
+import lombok.AccessLevel;
+import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
+/**
+ * Immutable snapshot of a user taken at login. It is shared through the
+ * principal cache, so it deliberately does not implement CredentialsContainer
+ * (Spring would otherwise erase the cached password after authentication).
+ */
+@Getter
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final Set<String> roles;
+    private final Set<GrantedAuthority> authorities;
 
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(r -> new SimpleGrantedAuthority("ROLE_" + r.getName()))
-                .collect(Collectors.toSet());
+    // permissions of all roles, ORed at login from the table of that generation
+    private final long permissionGeneration;
+    @Getter(AccessLevel.NONE)
+    private final BitSet permissions;
+
+    public CustomUserDetails(User user, PermissionTable permissionTable) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        this.roles = user.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toUnmodifiableSet());
+        this.authorities = roles.stream()
+                .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+                .collect(Collectors.toUnmodifiableSet());
+        this.permissionGeneration = permissionTable.generation();
+        this.permissions = permissionTable.mask(roles);
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    // A single bit test; only if grants were recompiled since login is the mask rebuilt from the roles
+    public boolean hasPermission(PermissionTable table, int bit) {
+        if (bit < 0) {
+            return false;
+        }
+        return table.generation() == permissionGeneration ? permissions.get(bit) : table.mask(roles).get(bit);
     }
 
-    @Override public String getPassword() { return user.getPassword(); }
-    @Override public String getUsername() { return user.getUsername(); }
+    @Override public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+    @Override public String getPassword() { return password; }
+    @Override public String getUsername() { return username; }
 
     @Override public boolean isAccountNonExpired() { return true; }
     @Override public boolean isAccountNonLocked() { return true; }
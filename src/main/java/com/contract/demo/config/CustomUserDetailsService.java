@@ -2,23 +2,52 @@ package com.contract.demo.config;
 
 import com.contract.demo.entity.User;
 import com.contract.demo.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.contract.demo.service.RolePermissions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final RolePermissions rolePermissions;
+
+    // HTTP Basic authenticates every request; keep resolved principals for a short while
+    private final Cache<String, CustomUserDetails> principals;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    RolePermissions rolePermissions,
+                                    @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                                    @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.rolePermissions = rolePermissions;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return principals.get(username, this::load);
+    }
+
+    // Call after a user's roles or credentials change
+    public void evict(String username) {
+        principals.invalidate(username);
+    }
+
+    private CustomUserDetails load(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        return new CustomUserDetails(user);
+        return new CustomUserDetails(user, rolePermissions.current());
     }
 }
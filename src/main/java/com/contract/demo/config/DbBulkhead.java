@@ -0,0 +1,125 @@
+package com.contract.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many callers hold a database connection at once. With virtual
+ * threads there is no request thread pool to do that, and thousands of
+ * callers would otherwise pile into the connection pool's wait queue. Callers
+ * beyond the limit wait in a fair semaphore; past acquireTimeout they fail
+ * fast. The permit is returned when the connection is closed.
+ */
+public class DbBulkhead implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long timeoutNanos;
+
+    private Timer waitTimer;
+    private Counter rejected;
+
+    public DbBulkhead(DbBulkheadProperties properties) {
+        this.maxConcurrent = properties.getMaxConcurrent();
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.timeoutNanos = properties.getAcquireTimeout().toNanos();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Connections currently held through the bulkhead")
+                .register(registry);
+        Gauge.builder("db.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .description("Callers queued for a connection permit")
+                .register(registry);
+        waitTimer = Timer.builder("db.bulkhead.wait")
+                .description("Time spent waiting for a connection permit")
+                .publishPercentileHistogram()
+                .register(registry);
+        rejected = Counter.builder("db.bulkhead.rejected")
+                .description("Callers that timed out waiting for a connection permit")
+                .register(registry);
+    }
+
+    // keeps all of the bean's interfaces, so e.g. Closeable (and with it the pool's shutdown) stays reachable
+    public DataSource wrap(DataSource dataSource) {
+        ClassLoader loader = DbBulkhead.class.getClassLoader();
+        return (DataSource) Proxy.newProxyInstance(loader,
+                ClassUtils.getAllInterfacesForClass(dataSource.getClass(), loader), (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        return invoke(dataSource, method, args);
+                    }
+
+                    acquire();
+                    try {
+                        return guard((Connection) invoke(dataSource, method, args));
+                    } catch (Throwable e) {
+                        permits.release();
+                        throw e;
+                    }
+                });
+    }
+
+    private void acquire() throws SQLTransientConnectionException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection permit");
+        }
+        if (waitTimer != null) {
+            waitTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        if (!acquired) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new SQLTransientConnectionException("Database bulkhead full: no connection permit within "
+                    + Duration.ofNanos(timeoutNanos).toMillis() + " ms");
+        }
+    }
+
+    // releases the permit on the first close() only
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        try {
+                            return invoke(connection, method, args);
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
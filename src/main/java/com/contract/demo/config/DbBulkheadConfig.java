@@ -0,0 +1,38 @@
+package com.contract.demo.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the DataSource behind a {@link DbBulkhead} when db.bulkhead.enabled is
+ * set; meant for spring.threads.virtual.enabled=true, where request
+ * concurrency is no longer bounded by Tomcat's thread pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.bulkhead.enabled", havingValue = "true")
+public class DbBulkheadConfig {
+
+    // static and bound by hand: post-processors are created before properties beans
+    @Bean
+    public static DbBulkhead dbBulkhead(Environment environment) {
+        return new DbBulkhead(Binder.get(environment)
+                .bindOrCreate("db.bulkhead", DbBulkheadProperties.class));
+    }
+
+    @Bean
+    public static BeanPostProcessor dbBulkheadDataSource(ObjectProvider<DbBulkhead> bulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource ds ? bulkhead.getObject().wrap(ds) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.contract.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "db.bulkhead")
+public class DbBulkheadProperties {
+
+    private boolean enabled = false;
+
+    // connections handed out at once; keep at or below the pool size
+    private int maxConcurrent = 10;
+
+    // how long a caller queues for a permit before the request fails
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+}
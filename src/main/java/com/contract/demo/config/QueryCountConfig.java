@@ -0,0 +1,88 @@
+package com.contract.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Diagnostics: reports the number of SQL statements each request ran in an
+ * X-Query-Count response header, authentication included. Off by default;
+ * enable with diagnostics.query-count.enabled=true (the load harness does).
+ * Streaming responses carry no header.
+ */
+@Configuration
+@ConditionalOnProperty(name = "diagnostics.query-count.enabled", havingValue = "true")
+public class QueryCountConfig {
+
+    public static final String HEADER = "X-Query-Count";
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource ds ? QueryCounter.wrap(ds) : bean;
+            }
+        };
+    }
+
+    // ahead of Spring Security, so principal lookups are counted too
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> queryCountFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(
+                new OncePerRequestFilter() {
+                    @Override
+                    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                    FilterChain chain) throws ServletException, IOException {
+                        QueryCounter.begin();
+                        try {
+                            chain.doFilter(request, response);
+                        } finally {
+                            QueryCounter.end();
+                        }
+                    }
+                });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // the body is about to be written, so this is the last point the header can still be set
+    @RestControllerAdvice
+    @ConditionalOnProperty(name = "diagnostics.query-count.enabled", havingValue = "true")
+    static class QueryCountAdvice implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                      Class<? extends HttpMessageConverter<?>> converterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            int count = QueryCounter.current();
+            if (count >= 0) {
+                response.getHeaders().set(HEADER, Integer.toString(count));
+            }
+            return body;
+        }
+    }
+}
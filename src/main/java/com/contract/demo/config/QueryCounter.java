@@ -0,0 +1,89 @@
+package com.contract.demo.config;
+
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Counts JDBC statement executions on the current thread between begin()
+ * and end(). Covers Hibernate and JdbcTemplate alike because it sits on the
+ * DataSource; a JDBC batch counts as one round trip.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    // -1 when no count is running on this thread
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? -1 : count[0];
+    }
+
+    public static void end() {
+        COUNT.remove();
+    }
+
+    // keeps all of the bean's interfaces, so e.g. Closeable (and with it the pool's shutdown) stays reachable
+    public static DataSource wrap(DataSource dataSource) {
+        ClassLoader loader = QueryCounter.class.getClassLoader();
+        return (DataSource) Proxy.newProxyInstance(loader,
+                ClassUtils.getAllInterfacesForClass(dataSource.getClass(), loader), (p, method, args) -> {
+                    Object result = invoke(dataSource, method, args);
+                    return result instanceof Connection c ? wrapConnection(c) : result;
+                });
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement s && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return wrapStatement(s, method.getReturnType());
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object wrapStatement(Statement statement, Class<?> type) {
+        return proxy((Class<Object>) type, statement, (target, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                int[] count = COUNT.get();
+                if (count != null) {
+                    count[0]++;
+                }
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler h = (p, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, h);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,103 @@
+package com.contract.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.time.Duration;
+
+/**
+ * The read replica's connection pool, and how far the replica is behind the
+ * primary: published as db.replica.lag (seconds, NaN while unknown) and
+ * db.replica.available. The replica is usable while it is reachable,
+ * receiving WAL, and at most maxLag behind.
+ */
+@Slf4j
+public class ReadReplica implements Closeable {
+
+    // time since the last replayed commit, or 0 once everything received is replayed (an idle primary)
+    private static final String LAG_SQL = """
+            select pg_is_in_recovery(),
+                   exists (select 1 from pg_stat_wal_receiver),
+                   case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end
+            """;
+
+    private final HikariDataSource pool;
+    private final JdbcTemplate jdbcTemplate;
+    private final double maxLagSeconds;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReadReplica(HikariDataSource pool, Duration maxLag, MeterRegistry registry) {
+        this.pool = pool;
+        this.jdbcTemplate = new JdbcTemplate(pool);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, pool.getConnectionTimeout() / 1000));
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        Gauge.builder("db.replica.lag", this, r -> r.lagSeconds)
+                .description("How far the read replica is behind the primary")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("db.replica.available", this, r -> r.usable ? 1 : 0)
+                .description("1 while read-only transactions run on the replica")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${db.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean wasUsable = usable;
+        String reason = null;
+        try {
+            Status status = jdbcTemplate.queryForObject(LAG_SQL, (rs, n) ->
+                    new Status(rs.getBoolean(1), rs.getBoolean(2), rs.getDouble(3)));
+
+            // not in recovery: pointed at a primary (a single local database), which never lags
+            if (!status.inRecovery()) {
+                lagSeconds = 0;
+            } else if (!status.receiving()) {
+                lagSeconds = Double.NaN;
+                reason = "not receiving WAL";
+            } else {
+                lagSeconds = status.lagSeconds();
+                if (lagSeconds > maxLagSeconds) {
+                    reason = String.format("%.1fs behind", lagSeconds);
+                }
+            }
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            reason = "unreachable: " + e.getMostSpecificCause().getMessage();
+        }
+        usable = reason == null;
+
+        if (wasUsable && !usable) {
+            log.warn("Read replica {}; read-only transactions use the primary", reason);
+        } else if (!wasUsable && usable) {
+            log.info("Read replica usable; read-only transactions use it");
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public DataSource getDataSource() {
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private record Status(boolean inRecovery, boolean receiving, double lagSeconds) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.contract.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions (@Transactional(readOnly = true)) to a
+ * streaming replica when db.replica.url is set. Replaces Boot's DataSource;
+ * the primary pool is still configured from spring.datasource.*. Only one
+ * DataSource bean exists either way, so the bulkhead and query-count
+ * wrappers see every connection once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReadReplica readReplica(ReplicaDataSourceProperties properties, DataSourceProperties primary,
+                                   MeterRegistry registry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica");
+        pool.setJdbcUrl(properties.getUrl());
+        pool.setDriverClassName(primary.determineDriverClassName());
+        pool.setUsername(properties.getUsername() != null ? properties.getUsername() : primary.determineUsername());
+        pool.setPassword(properties.getPassword() != null ? properties.getPassword() : primary.determinePassword());
+        pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+        pool.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        pool.setReadOnly(true);
+        // start even while the replica is down; the lag check keeps reads off it meanwhile
+        pool.setInitializationFailTimeout(-1);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return new ReadReplica(pool, properties.getMaxLag(), registry);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, ReadReplica replica) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        return new ReplicaRoutingDataSource(primary, replica);
+    }
+}
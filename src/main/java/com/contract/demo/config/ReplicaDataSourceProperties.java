@@ -0,0 +1,26 @@
+package com.contract.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "db.replica")
+public class ReplicaDataSourceProperties {
+
+    // JDBC URL of a streaming replica; unset means everything runs on the primary
+    private String url;
+
+    // default to the primary's credentials
+    private String username;
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    // short, so a replica going away costs a read little before it falls back
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    // reads go to the primary while the replica is further behind than this
+    private Duration maxLag = Duration.ofSeconds(30);
+}
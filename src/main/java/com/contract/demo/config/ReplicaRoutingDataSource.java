@@ -0,0 +1,37 @@
+package com.contract.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The application's DataSource when a read replica is configured. The
+ * physical connection is only fetched at the first statement, after the
+ * transaction has marked it read-only or not; read-only transactions then
+ * run on the replica (on the primary while it is not usable), everything
+ * else, including work outside a transaction, on the primary.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final HikariDataSource primary;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, ReadReplica replica) {
+        super(primary);
+        this.primary = primary;
+        setReadOnlyDataSource(new DelegatingDataSource(replica.getDataSource()) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return replica.isUsable() ? replica.getDataSource().getConnection() : primary.getConnection();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+    }
+}
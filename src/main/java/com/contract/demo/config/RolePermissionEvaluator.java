@@ -0,0 +1,43 @@
+package com.contract.demo.config;
+
+import com.contract.demo.service.RolePermissions;
+import com.contract.demo.service.RolePermissions.PermissionTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Backs hasPermission(target, 'PERMISSION') in @PreAuthorize. The target only
+ * names the domain for the reader; the check is one bit of the caller's
+ * permission mask, with no database access.
+ */
+@Component
+@RequiredArgsConstructor
+public class RolePermissionEvaluator implements PermissionEvaluator {
+
+    private final RolePermissions rolePermissions;
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object target, Object permission) {
+        return check(authentication, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
+                                 Object permission) {
+        return check(authentication, permission);
+    }
+
+    private boolean check(Authentication authentication, Object permission) {
+        if (authentication == null
+                || !(authentication.getPrincipal() instanceof CustomUserDetails user)
+                || !(permission instanceof String name)) {
+            return false;
+        }
+        PermissionTable table = rolePermissions.current();
+        return user.hasPermission(table, table.bit(name));
+    }
+}
@@ -1,8 +1,13 @@
 package com.contract.demo.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -29,13 +34,21 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
 
+                // which roles may reach each area at all; within it, endpoints check their
+                // permission with @PreAuthorize("hasPermission(...)")
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/**").hasRole("SUPER_ADMIN")
                         .requestMatchers("/api/super-admin/**").hasRole("SUPER_ADMIN")
                         .requestMatchers("/api/admin/**").hasAnyRole("ADMIN", "SUPER_ADMIN")
                         .requestMatchers("/api/legal/**").hasAnyRole("LEGAL_USER", "SUPER_ADMIN")
                         .requestMatchers("/api/finance/**").hasAnyRole("FINANCE_REVIEWER", "SUPER_ADMIN")
-                        .requestMatchers("/api/client/**").hasAnyRole("CLIENT", "SUPER_ADMIN")
-                        .anyRequest().authenticated()
+                        .requestMatchers("/client/**").hasAnyRole("CLIENT", "SUPER_ADMIN")
+                        .requestMatchers("/api/contracts/**")
+                        .hasAnyRole("LEGAL_USER", "FINANCE_REVIEWER", "CLIENT", "SUPER_ADMIN")
+                        // error pages for the requests above
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+                        // a new area must be added above before anyone can reach it
+                        .anyRequest().denyAll()
                 )
 
                 // ❌ No Spring login UI
@@ -47,6 +60,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // hasPermission(...) in @PreAuthorize; lazy, so method security does not pull in JPA early
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(
+            @Lazy PermissionEvaluator permissionEvaluator) {
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setPermissionEvaluator(permissionEvaluator);
+        return handler;
+    }
+
     // 🔐 Authentication Provider (MANDATORY)
     @Bean
     public AuthenticationProvider authenticationProvider() {
@@ -1,12 +1,17 @@
 package com.contract.demo.controller;
 
+import com.contract.demo.config.CustomUserDetails;
 import com.contract.demo.dto.ClientDecisionRequest;
+import com.contract.demo.dto.ContractInboxQuery;
 import com.contract.demo.service.ClientService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/client")
@@ -16,16 +21,55 @@ public class ClientController {
     private final ClientService service;
 
     @GetMapping("/contracts")
-    @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<?> myContracts(Authentication auth) {
-        return ResponseEntity.ok(service.getAssignedContracts(auth.getName()));
+    @PreAuthorize("hasPermission('CONTRACT', 'VIEW_CLIENT_CONTRACTS')")
+    public ResponseEntity<?> myContracts(@AuthenticationPrincipal CustomUserDetails user, WebRequest request) {
+        if (request.checkNotModified(service.getAssignedContractsTag(user.getId(), new ContractInboxQuery()))) {
+            return null;
+        }
+        return service.getAssignedContracts(user.getId(), new ContractInboxQuery()).toListResponse();
+    }
+
+    @GetMapping("/contracts/page")
+    @PreAuthorize("hasPermission('CONTRACT', 'VIEW_CLIENT_CONTRACTS')")
+    public ResponseEntity<?> myContractsPage(ContractInboxQuery query,
+                                             @AuthenticationPrincipal CustomUserDetails user,
+                                             WebRequest request) {
+        if (request.checkNotModified(service.getAssignedContractsTag(user.getId(), query))) {
+            return null;
+        }
+        return ResponseEntity.ok(service.getAssignedContracts(user.getId(), query));
+    }
+
+    @GetMapping("/contracts/summary")
+    @PreAuthorize("hasPermission('CONTRACT', 'VIEW_CLIENT_CONTRACTS')")
+    public ResponseEntity<?> mySummary(@AuthenticationPrincipal CustomUserDetails user) {
+        return ResponseEntity.ok(service.getSummary(user.getId()));
+    }
+
+    @GetMapping("/contracts/{id}")
+    @PreAuthorize("hasPermission('CONTRACT', 'VIEW_CLIENT_CONTRACTS')")
+    public ResponseEntity<?> contract(@PathVariable Long id,
+                                      @AuthenticationPrincipal CustomUserDetails user,
+                                      WebRequest request) {
+        if (request.checkNotModified(service.getContractTag(id, user.getId()))) {
+            return null;
+        }
+        return ResponseEntity.ok(service.getContract(id, user.getId()));
     }
 
     @PostMapping("/review")
-    @PreAuthorize("hasRole('CLIENT')")
+    @PreAuthorize("hasPermission('CONTRACT', 'CLIENT_DECISION')")
     public ResponseEntity<?> review(@RequestBody ClientDecisionRequest request,
-                                    Authentication auth) {
+                                    @AuthenticationPrincipal CustomUserDetails user) {
+
+        return ResponseEntity.ok(service.review(request, user.getId()));
+    }
+
+    @PostMapping("/review/bulk")
+    @PreAuthorize("hasPermission('CONTRACT', 'CLIENT_DECISION')")
+    public ResponseEntity<?> reviewBulk(@RequestBody List<ClientDecisionRequest> requests,
+                                        @AuthenticationPrincipal CustomUserDetails user) {
 
-        return ResponseEntity.ok(service.review(request, auth.getName()));
+        return ResponseEntity.ok(service.review(requests, user.getId()));
     }
 }
@@ -0,0 +1,25 @@
+package com.contract.demo.controller;
+
+import com.contract.demo.config.CustomUserDetails;
+import com.contract.demo.service.ContractEventStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/contracts")
+@RequiredArgsConstructor
+public class ContractEventController {
+
+    private final ContractEventStream eventStream;
+
+    // Status changes visible to the caller, pushed as they are relayed from the outbox
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@AuthenticationPrincipal CustomUserDetails user) {
+        return eventStream.subscribe(user);
+    }
+}
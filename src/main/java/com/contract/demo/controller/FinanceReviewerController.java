@@ -1,30 +1,63 @@
 package com.contract.demo.controller;
 
+import com.contract.demo.config.CustomUserDetails;
+import com.contract.demo.dto.ContractResponse;
 import com.contract.demo.dto.FinanceReviewRequest;
-import com.contract.demo.entity.Contract;
+import com.contract.demo.service.ContractClaimService;
 import com.contract.demo.service.FinanceReviewerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/finance")
 @RequiredArgsConstructor
 public class FinanceReviewerController {
 
     private final FinanceReviewerService service;
+    private final ContractClaimService claimService;
 
     @PostMapping("/review")
-    @PreAuthorize("hasRole('FINANCE_REVIEWER')")
+    @PreAuthorize("hasPermission('CONTRACT', 'APPROVE_FINANCE')")
     public ResponseEntity<?> review(@RequestBody FinanceReviewRequest request,
                                     Authentication authentication) {
 
-        Contract result = service.reviewContract(request, authentication.getName());
+        ContractResponse result = service.reviewContract(request, authentication.getName());
         return ResponseEntity.ok(result);
     }
+
+    @PostMapping("/review/bulk")
+    @PreAuthorize("hasPermission('CONTRACT', 'APPROVE_FINANCE')")
+    public ResponseEntity<?> reviewBulk(@RequestBody List<FinanceReviewRequest> requests,
+                                        Authentication authentication) {
+
+        return ResponseEntity.ok(service.reviewContracts(requests, authentication.getName()));
+    }
+
+    // ===== WORK QUEUE =====
+
+    @PostMapping("/contracts/claim")
+    @PreAuthorize("hasPermission('CONTRACT', 'APPROVE_FINANCE')")
+    public ResponseEntity<?> claim(@RequestParam(required = false) Integer count,
+                                   @AuthenticationPrincipal CustomUserDetails user) {
+        return ResponseEntity.ok(claimService.claim("FINANCE_REVIEWER", user.getId(), count));
+    }
+
+    @DeleteMapping("/contracts/{id}/claim")
+    @PreAuthorize("hasPermission('CONTRACT', 'APPROVE_FINANCE')")
+    public ResponseEntity<?> release(@PathVariable Long id, @AuthenticationPrincipal CustomUserDetails user) {
+        claimService.release(id, user.getId());
+        return ResponseEntity.noContent().build();
+    }
 }
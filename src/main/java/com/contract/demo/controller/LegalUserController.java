@@ -1,33 +1,149 @@
 package com.contract.demo.controller;
 
+import com.contract.demo.config.CustomUserDetails;
+import com.contract.demo.dto.AmendContractRequest;
+import com.contract.demo.dto.ContractImportFormat;
+import com.contract.demo.dto.ContractInboxQuery;
 import com.contract.demo.dto.CreateContractRequest;
 import com.contract.demo.dto.LegalReviewRequest;
+import com.contract.demo.service.ContractAmendmentService;
+import com.contract.demo.service.ContractClaimService;
+import com.contract.demo.service.ContractImportService;
 import com.contract.demo.service.LegalUserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/legal")
 @RequiredArgsConstructor
-@PreAuthorize("hasRole('LEGAL_USER')")
+// reads by default; writes name their own permission
+@PreAuthorize("hasPermission('CONTRACT', 'VIEW_LEGAL_CONTRACTS')")
 public class LegalUserController {
 
     private final LegalUserService legalUserService;
+    private final ContractAmendmentService amendmentService;
+    private final ContractImportService importService;
+    private final ContractClaimService claimService;
 
     @PostMapping("/contracts")
+    @PreAuthorize("hasPermission('CONTRACT', 'CREATE_CONTRACT')")
     public ResponseEntity<?> createContract(@RequestBody CreateContractRequest request) {
         return ResponseEntity.ok(legalUserService.createContract(request));
     }
 
+    // Reads answer If-None-Match with 304 from a one-row tag query, before any list or body is loaded
+
     @GetMapping("/contracts")
-    public ResponseEntity<?> getContracts() {
-        return ResponseEntity.ok(legalUserService.getLegalContracts());
+    public ResponseEntity<?> getContracts(WebRequest request) {
+        if (request.checkNotModified(legalUserService.getLegalContractsTag(new ContractInboxQuery()))) {
+            return null;
+        }
+        return legalUserService.getLegalContracts(new ContractInboxQuery()).toListResponse();
+    }
+
+    @GetMapping("/contracts/{id}")
+    public ResponseEntity<?> getContract(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(legalUserService.getContractTag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok(legalUserService.getContract(id));
+    }
+
+    @GetMapping("/contracts/search")
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) Integer page,
+                                    @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(legalUserService.searchContracts(q, page, size));
+    }
+
+    @GetMapping("/contracts/page")
+    public ResponseEntity<?> getContractsPage(ContractInboxQuery query, WebRequest request) {
+        if (request.checkNotModified(legalUserService.getLegalContractsTag(query))) {
+            return null;
+        }
+        return ResponseEntity.ok(legalUserService.getLegalContracts(query));
+    }
+
+    // ===== IMPORT =====
+
+    @PostMapping(value = "/contracts/import", consumes = "text/csv")
+    @PreAuthorize("hasPermission('CONTRACT', 'IMPORT_CONTRACTS')")
+    public ResponseEntity<?> importCsv(InputStream body, @RequestParam(required = false) String importId,
+                                       Authentication authentication) {
+        return ResponseEntity.ok(importService.importContracts(body, ContractImportFormat.CSV, importId,
+                authentication.getName()));
+    }
+
+    @PostMapping(value = "/contracts/import", consumes = "application/x-ndjson")
+    @PreAuthorize("hasPermission('CONTRACT', 'IMPORT_CONTRACTS')")
+    public ResponseEntity<?> importNdjson(InputStream body, @RequestParam(required = false) String importId,
+                                          Authentication authentication) {
+        return ResponseEntity.ok(importService.importContracts(body, ContractImportFormat.NDJSON, importId,
+                authentication.getName()));
+    }
+
+    @GetMapping("/contracts/import/{importId}")
+    @PreAuthorize("hasPermission('CONTRACT', 'IMPORT_CONTRACTS')")
+    public ResponseEntity<?> getImport(@PathVariable String importId) {
+        return ResponseEntity.ok(importService.getImport(importId));
     }
 
     @PostMapping("/review")
+    @PreAuthorize("hasPermission('CONTRACT', 'APPROVE_LEGAL')")
     public ResponseEntity<?> review(@RequestBody LegalReviewRequest request) {
         return ResponseEntity.ok(legalUserService.reviewContract(request));
     }
+
+    @PostMapping("/review/bulk")
+    @PreAuthorize("hasPermission('CONTRACT', 'APPROVE_LEGAL')")
+    public ResponseEntity<?> reviewBulk(@RequestBody List<LegalReviewRequest> requests) {
+        return ResponseEntity.ok(legalUserService.reviewContracts(requests));
+    }
+
+    // ===== WORK QUEUE =====
+
+    @PostMapping("/contracts/claim")
+    @PreAuthorize("hasPermission('CONTRACT', 'APPROVE_LEGAL')")
+    public ResponseEntity<?> claim(@RequestParam(required = false) Integer count,
+                                   @AuthenticationPrincipal CustomUserDetails user) {
+        return ResponseEntity.ok(claimService.claim("LEGAL_USER", user.getId(), count));
+    }
+
+    @DeleteMapping("/contracts/{id}/claim")
+    @PreAuthorize("hasPermission('CONTRACT', 'APPROVE_LEGAL')")
+    public ResponseEntity<?> release(@PathVariable Long id, @AuthenticationPrincipal CustomUserDetails user) {
+        claimService.release(id, user.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    // ===== AMENDMENTS =====
+
+    @PostMapping("/contracts/{id}/amendments")
+    @PreAuthorize("hasPermission('CONTRACT', 'AMEND_CONTRACT')")
+    public ResponseEntity<?> amend(@PathVariable Long id, @RequestBody AmendContractRequest request) {
+        return ResponseEntity.ok(amendmentService.amend(id, request));
+    }
+
+    @GetMapping("/contracts/{id}/amendments")
+    public ResponseEntity<?> getAmendments(@PathVariable Long id) {
+        return ResponseEntity.ok(amendmentService.getHistory(id));
+    }
+
+    @GetMapping("/contracts/{id}/versions/{version}")
+    public ResponseEntity<?> getVersion(@PathVariable Long id, @PathVariable int version) {
+        return ResponseEntity.ok(amendmentService.getVersion(id, version));
+    }
+
+    @GetMapping("/contracts/{id}/diff")
+    public ResponseEntity<?> diff(@PathVariable Long id, @RequestParam int from, @RequestParam int to) {
+        return ResponseEntity.ok(amendmentService.diff(id, from, to));
+    }
 }
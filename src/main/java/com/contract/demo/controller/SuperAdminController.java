@@ -1,45 +1,109 @@
 package com.contract.demo.controller;
 
 import com.contract.demo.dto.AssignRoleRequest;
+import com.contract.demo.dto.AuditExportFormat;
+import com.contract.demo.dto.AuditLogQuery;
 import com.contract.demo.dto.CreateUserRequest;
+import com.contract.demo.dto.RolePermissionsRequest;
 import com.contract.demo.dto.WorkflowMappingRequest;
+import com.contract.demo.service.AuditChainVerifier;
+import com.contract.demo.service.AuditQueryService;
+import com.contract.demo.service.ContractCounterService;
 import com.contract.demo.service.SuperAdminService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/super-admin")
 @RequiredArgsConstructor
-@PreAuthorize("hasRole('SUPER_ADMIN')")
 public class SuperAdminController {
 
     private final SuperAdminService service;
+    private final AuditQueryService auditQueryService;
+    private final AuditChainVerifier auditChainVerifier;
+    private final ContractCounterService counterService;
 
     @PostMapping("/users")
+    @PreAuthorize("hasPermission('USER', 'CREATE_USER')")
     public ResponseEntity<?> createUser(@RequestBody CreateUserRequest request) {
         return ResponseEntity.ok(service.createUser(request));
     }
 
     @PutMapping("/assign-role")
+    @PreAuthorize("hasPermission('USER', 'ASSIGN_ROLE')")
     public ResponseEntity<?> assignRole(@RequestBody AssignRoleRequest request) {
         service.assignRoles(request);
         return ResponseEntity.ok("Roles assigned successfully");
     }
 
     @PostMapping("/workflow")
+    @PreAuthorize("hasPermission('WORKFLOW', 'MAP_WORKFLOW')")
     public ResponseEntity<?> mapWorkflow(@RequestBody WorkflowMappingRequest request) {
         return ResponseEntity.ok(service.mapWorkflow(request));
     }
 
+    @GetMapping("/roles/permissions")
+    @PreAuthorize("hasPermission('PERMISSION', 'MANAGE_PERMISSIONS')")
+    public ResponseEntity<?> rolePermissions() {
+        return ResponseEntity.ok(service.getRolePermissions());
+    }
+
+    @PutMapping("/roles/{role}/permissions")
+    @PreAuthorize("hasPermission('PERMISSION', 'MANAGE_PERMISSIONS')")
+    public ResponseEntity<?> setRolePermissions(@PathVariable String role,
+                                                @RequestBody RolePermissionsRequest request) {
+        service.setRolePermissions(role, request);
+        return ResponseEntity.ok(service.getRolePermissions());
+    }
+
     @GetMapping("/users")
+    @PreAuthorize("hasPermission('USER', 'VIEW_USERS')")
     public ResponseEntity<?> getAllUsers() {
         return ResponseEntity.ok(service.getAllUsers());
     }
 
+    @GetMapping("/contracts/summary")
+    @PreAuthorize("hasPermission('CONTRACT', 'VIEW_CONTRACT_SUMMARY')")
+    public ResponseEntity<?> contractSummary() {
+        return ResponseEntity.ok(counterService.summary());
+    }
+
     @GetMapping("/audit")
-    public ResponseEntity<?> auditLogs() {
-        return ResponseEntity.ok(service.getAuditLogs());
+    @PreAuthorize("hasPermission('AUDIT_LOG', 'VIEW_AUDIT_LOGS')")
+    public ResponseEntity<?> auditLogs(AuditLogQuery query) {
+        return ResponseEntity.ok(auditQueryService.search(query));
+    }
+
+    @GetMapping("/audit/verify")
+    @PreAuthorize("hasPermission('AUDIT_LOG', 'VERIFY_AUDIT_LOGS')")
+    public ResponseEntity<?> verifyAuditLogs() {
+        return ResponseEntity.ok(auditChainVerifier.verify());
+    }
+
+    @GetMapping("/audit/{seq}/proof")
+    @PreAuthorize("hasPermission('AUDIT_LOG', 'VERIFY_AUDIT_LOGS')")
+    public ResponseEntity<?> auditProof(@PathVariable long seq) {
+        return ResponseEntity.ok(auditChainVerifier.prove(seq));
+    }
+
+    @GetMapping("/audit/export")
+    @PreAuthorize("hasPermission('AUDIT_LOG', 'VIEW_AUDIT_LOGS')")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            AuditLogQuery query,
+            @RequestParam(defaultValue = "NDJSON") AuditExportFormat format) {
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("audit-logs." + format.extension())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(out -> auditQueryService.export(query, format, out));
     }
 }
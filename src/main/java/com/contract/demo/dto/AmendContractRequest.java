@@ -0,0 +1,11 @@
+package com.contract.demo.dto;
+
+import lombok.Data;
+
+@Data
+public class AmendContractRequest {
+
+    // full new text of the contract body
+    private String content;
+    private String remarks;
+}
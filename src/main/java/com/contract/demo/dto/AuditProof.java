@@ -0,0 +1,42 @@
+package com.contract.demo.dto;
+
+import com.contract.demo.entity.AuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Inclusion proof of one audit record in a Merkle checkpoint. To check it,
+ * hash the record onto previousHash, then fold the leaf of that hash with
+ * each step of path in turn; the result must equal root.
+ */
+@Data
+@AllArgsConstructor
+public class AuditProof {
+
+    private AuditLog record;
+    private String previousHash;
+
+    // recomputed from the record; equals record.hash unless the record was changed
+    private String recordHash;
+
+    private long checkpointFrom;
+    private long checkpointTo;
+    private String root;
+
+    // siblings from the leaf up, log2 of the checkpoint size steps
+    private List<ProofStep> path;
+
+    private boolean valid;
+
+    @Data
+    @AllArgsConstructor
+    public static class ProofStep {
+
+        private String hash;
+
+        // the sibling is the left child
+        private boolean left;
+    }
+}
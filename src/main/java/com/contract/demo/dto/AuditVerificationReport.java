@@ -0,0 +1,32 @@
+package com.contract.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AuditVerificationReport {
+
+    private boolean valid;
+
+    // records 1..headSeq were checked, and full blocks of them against their checkpoints
+    private long headSeq;
+    private int checkpoints;
+
+    private long failureCount;
+
+    // first failures by seq; capped, see failureCount for the total
+    private List<Failure> failures;
+
+    private long elapsedMs;
+
+    @Data
+    @AllArgsConstructor
+    public static class Failure {
+
+        private long seq;
+        private String reason;
+    }
+}
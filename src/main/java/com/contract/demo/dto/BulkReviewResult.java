@@ -0,0 +1,26 @@
+package com.contract.demo.dto;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkReviewResult {
+
+    private Long contractId;
+    private ReviewOutcome outcome;
+
+    // status after the review, null unless outcome is SUCCESS
+    private ContractStatus status;
+
+    private String message;
+
+    public static BulkReviewResult success(Long contractId, ContractStatus status) {
+        return new BulkReviewResult(contractId, ReviewOutcome.SUCCESS, status, null);
+    }
+
+    public static BulkReviewResult failure(Long contractId, ReviewOutcome outcome, String message) {
+        return new BulkReviewResult(contractId, outcome, null, message);
+    }
+}
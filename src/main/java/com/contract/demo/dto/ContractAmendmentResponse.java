@@ -0,0 +1,24 @@
+package com.contract.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractAmendmentResponse {
+
+    private Integer version;
+    private boolean snapshot;
+    private Integer contentLength;
+
+    // stored size; much smaller than contentLength for deltas
+    private Integer storedLength;
+
+    private String author;
+    private String remarks;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.contract.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Contracts leased to the caller, oldest first. Empty when the queue is drained.
+ */
+@Data
+@AllArgsConstructor
+public class ContractClaimResponse {
+
+    private List<ContractResponse> contracts;
+    private LocalDateTime leaseExpiresAt;
+}
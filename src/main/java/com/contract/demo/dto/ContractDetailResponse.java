@@ -0,0 +1,37 @@
+package com.contract.demo.dto;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Single-contract view; JPQL constructor projection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractDetailResponse {
+
+    private Long id;
+    private String contractName;
+    private String title;
+    private String content;
+    private BigDecimal contractAmount;
+    private LocalDate effectiveDate;
+    private ContractStatus status;
+    private String assignedRole;
+    private Long clientId;
+    private Long clientUserId;
+    private Long legalUserId;
+    private Long financeUserId;
+    private String clientRemarks;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
@@ -0,0 +1,31 @@
+package com.contract.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ContractDiffResponse {
+
+    private Long contractId;
+    private Integer fromVersion;
+    private Integer toVersion;
+
+    // changed lines only
+    private List<Line> changes;
+
+    @Data
+    @AllArgsConstructor
+    public static class Line {
+
+        // ADDED or REMOVED
+        private String type;
+
+        // 1-based; fromLine is null for added lines, toLine for removed ones
+        private Integer fromLine;
+        private Integer toLine;
+        private String text;
+    }
+}
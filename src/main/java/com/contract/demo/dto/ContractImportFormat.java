@@ -0,0 +1,10 @@
+package com.contract.demo.dto;
+
+public enum ContractImportFormat {
+
+    // one CreateContractRequest object per line
+    NDJSON,
+
+    // header line naming the CreateContractRequest fields, then one contract per line
+    CSV
+}
@@ -0,0 +1,37 @@
+package com.contract.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ContractImportResponse {
+
+    // pass back as importId to resume after an interrupted upload
+    private String importId;
+    private ContractImportFormat format;
+    private ContractImportStatus status;
+
+    // input lines committed so far; a resumed upload skips these
+    private long lastLine;
+    private long imported;
+    private long failed;
+
+    // first rejected rows by line number; capped, see failed for the total
+    private List<RowError> errors;
+
+    public enum ContractImportStatus {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long line;
+        private String message;
+    }
+}
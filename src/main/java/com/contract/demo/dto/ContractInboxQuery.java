@@ -0,0 +1,22 @@
+package com.contract.demo.dto;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ContractInboxQuery {
+
+    private String cursor;
+    private Integer size;
+    private ContractStatus status;
+
+    // updatedAt range, from inclusive / to exclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
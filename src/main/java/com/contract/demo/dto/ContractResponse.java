@@ -1,11 +1,22 @@
 package com.contract.demo.dto;
 
+import com.contract.demo.entity.Contract;
 import com.contract.demo.entity.ContractStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
+/**
+ * List view of a contract. Also used as a JPQL constructor projection, so
+ * keep the field order in sync with the queries that build it.
+ */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ContractResponse {
 
     private Long id;
@@ -13,4 +24,15 @@ public class ContractResponse {
     private BigDecimal contractAmount;
     private ContractStatus status;
     private String assignedRole;
+    private LocalDate effectiveDate;
+    private Long clientUserId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static ContractResponse of(Contract c) {
+        return new ContractResponse(c.getId(), c.getContractName(), c.getContractAmount(),
+                c.getStatus(), c.getAssignedRole(), c.getEffectiveDate(),
+                c.getClientUser() == null ? null : c.getClientUser().getId(),
+                c.getCreatedAt(), c.getUpdatedAt());
+    }
 }
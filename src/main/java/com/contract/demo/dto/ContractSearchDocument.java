@@ -0,0 +1,24 @@
+package com.contract.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// The searchable fields of one contract, as handed to the search index
+@Data
+@AllArgsConstructor
+public class ContractSearchDocument {
+
+    private Long id;
+    private String contractName;
+    private String title;
+    private String content;
+
+    // when the contract last changed; only read back by the index catch-up
+    private LocalDateTime updatedAt;
+
+    public ContractSearchDocument(Long id, String contractName, String title, String content) {
+        this(id, contractName, title, content, null);
+    }
+}
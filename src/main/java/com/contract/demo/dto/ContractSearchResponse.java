@@ -0,0 +1,29 @@
+package com.contract.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ContractSearchResponse {
+
+    private String query;
+    private int page;
+    private int size;
+
+    // best match first
+    private List<Hit> items;
+
+    // true when at least one more page exists
+    private boolean hasMore;
+
+    @Data
+    @AllArgsConstructor
+    public static class Hit {
+
+        private float score;
+        private ContractResponse contract;
+    }
+}
@@ -0,0 +1,33 @@
+package com.contract.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * What a contract's ETag is made of, read by primary key without touching
+ * the body or any association.
+ */
+@Data
+@AllArgsConstructor
+public class ContractStamp {
+
+    private Long id;
+    private Long clientUserId;
+    private Long version;
+    private LocalDateTime updatedAt;
+
+    // version moves on every transition and amendment; updatedAt covers rows written before it existed
+    public String etag() {
+        return id + "-" + version + "-" + micros(updatedAt);
+    }
+
+    public static long micros(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
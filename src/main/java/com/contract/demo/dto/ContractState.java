@@ -0,0 +1,26 @@
+package com.contract.demo.dto;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns a status transition is decided on, read without loading the entity.
+ */
+@Data
+@AllArgsConstructor
+public class ContractState {
+
+    private Long id;
+    private ContractStatus status;
+    private String assignedRole;
+    private Long clientUserId;
+    private BigDecimal contractAmount;
+    private LocalDateTime createdAt;
+
+    // when it entered its current status; amendments move updatedAt but not this
+    private LocalDateTime stageEnteredAt;
+}
@@ -0,0 +1,33 @@
+package com.contract.demo.dto;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A status change (or an escalation, which keeps the status) as delivered
+ * from the outbox. id is unique per event.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractStatusEvent {
+
+    private Long id;
+    private Kind kind;
+    private Long contractId;
+    private ContractStatus fromStatus;
+    private ContractStatus toStatus;
+    private String fromRole;
+    private String toRole;
+    private Long clientUserId;
+    private LocalDateTime occurredAt;
+
+    public enum Kind {
+        STATUS_CHANGED,
+        ESCALATED
+    }
+}
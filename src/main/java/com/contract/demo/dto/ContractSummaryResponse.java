@@ -0,0 +1,40 @@
+package com.contract.demo.dto;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ContractSummaryResponse {
+
+    private long totalCount;
+    private BigDecimal totalAmount;
+    private List<StatusSummary> statuses;
+
+    // when the counters were last reconciled with the contracts table; null for live queries
+    private LocalDateTime reconciledAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusSummary {
+
+        private ContractStatus status;
+        private long count;
+        private BigDecimal totalAmount;
+
+        // assigned role -> count; "NONE" for contracts nobody has to act on
+        private Map<String, Long> countByRole;
+
+        public StatusSummary(ContractStatus status, long count, BigDecimal totalAmount) {
+            this(status, count, totalAmount == null ? BigDecimal.ZERO : totalAmount, Map.of());
+        }
+    }
+}
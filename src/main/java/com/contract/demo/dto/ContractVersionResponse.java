@@ -0,0 +1,13 @@
+package com.contract.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ContractVersionResponse {
+
+    private Long contractId;
+    private Integer version;
+    private String content;
+}
@@ -0,0 +1,9 @@
+package com.contract.demo.dto;
+
+public enum ReviewOutcome {
+    SUCCESS,
+    NOT_FOUND,
+    INVALID_STATE,
+    NOT_AUTHORIZED,
+    CONFLICT // changed by a concurrent review between read and update
+}
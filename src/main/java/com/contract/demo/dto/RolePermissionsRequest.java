@@ -0,0 +1,12 @@
+package com.contract.demo.dto;
+
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+public class RolePermissionsRequest {
+
+    // replaces the role's current permissions
+    private Set<String> permissions;
+}
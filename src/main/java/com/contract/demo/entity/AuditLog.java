@@ -4,8 +4,21 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 
+/**
+ * Stored in audit_logs, range-partitioned by month on timestamp (primary key
+ * (id, timestamp) in the database); months past retention live in the
+ * AuditArchive instead.
+ *
+ * Every record is chained: hash covers the record and the hash of the record
+ * at seq - 1 (see AuditChain).
+ */
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_timestamp", columnList = "timestamp, id"),
+        @Index(name = "idx_audit_logs_actor", columnList = "actor, timestamp, id"),
+        @Index(name = "idx_audit_logs_action", columnList = "action, timestamp, id"),
+        @Index(name = "idx_audit_logs_seq", columnList = "seq")
+})
 @Data
 public class AuditLog {
 
@@ -19,5 +32,14 @@ public class AuditLog {
     @Column(length = 2000)
     private String details;
 
+    // partition key
+    @Column(nullable = false)
     private LocalDateTime timestamp;
+
+    // position in the hash chain, gap-free from 1
+    private Long seq;
+
+    // hex SHA-256
+    @Column(length = 64)
+    private String hash;
 }
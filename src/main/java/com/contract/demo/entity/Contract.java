@@ -2,6 +2,7 @@ package com.contract.demo.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,7 +11,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "contracts")
+@Table(name = "contracts", indexes = {
+        @Index(name = "idx_contracts_role_updated", columnList = "assigned_role, updated_at, id"),
+        @Index(name = "idx_contracts_role_status_updated", columnList = "assigned_role, status, updated_at, id"),
+        @Index(name = "idx_contracts_client_updated", columnList = "client_user_id, updated_at, id"),
+        @Index(name = "idx_contracts_status_updated", columnList = "status, updated_at"),
+        @Index(name = "idx_contracts_updated", columnList = "updated_at, id")
+})
 @Data
 public class Contract {
 
@@ -37,29 +44,56 @@ public class Contract {
     private BigDecimal contractAmount;
 
     @Enumerated(EnumType.STRING)
+    @Column(name = "status")
     private ContractStatus status;
 
     private Boolean active;
 
     @CreationTimestamp
+    @Column(name = "created_at")
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
+    @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // when the contract entered its current status; only transitions move it, amendments do not
+    @CreationTimestamp
+    @Column(name = "stage_entered_at", updatable = false)
+    private LocalDateTime stageEnteredAt;
+
     @Column(name = "assigned_role")
     private String assignedRole;
 
-    @Column(length = 5000)
-    private String content;
+    // the text lives in contract_bodies (latest) and contract_amendments (history)
+    @ColumnDefault("0")
+    @Column(name = "current_version", nullable = false)
+    private Integer currentVersion = 0;
 
     private String title;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_user_id")
     private User clientUser;
 
     @Column(length = 500)
     private String clientRemarks;
 
+    // set when the escalation sweep finds the contract overdue in its stage; cleared by every transition
+    @Column(name = "escalated_at")
+    private LocalDateTime escalatedAt;
+
+    // reviewer holding the contract from the work queue, until the lease expires or a transition releases it
+    @Column(name = "claimed_by")
+    private Long claimedBy;
+
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
+    // status transitions bump this in SQL; it guards the remaining full-entity saves
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
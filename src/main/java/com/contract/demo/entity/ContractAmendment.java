@@ -0,0 +1,48 @@
+package com.contract.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One version of a contract body. Most rows hold a line delta against the
+ * previous version; every few versions a full snapshot bounds how many
+ * deltas a reconstruction has to apply.
+ */
+@Entity
+@Table(name = "contract_amendments", uniqueConstraints =
+        @UniqueConstraint(name = "uk_contract_amendments_version", columnNames = {"contract_id", "version"}))
+@Data
+public class ContractAmendment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "contract_id", nullable = false)
+    private Long contractId;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    // true: payload is the full text, false: payload is a TextDelta against version - 1
+    @Column(nullable = false)
+    private boolean snapshot;
+
+    @Column(columnDefinition = "text", nullable = false)
+    private String payload;
+
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+
+    private String author;
+
+    @Column(length = 500)
+    private String remarks;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.contract.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * The text of a contract, kept out of the contracts row so list and
+ * review queries never read it. Only the detail view and amendments load it.
+ */
+@Entity
+@Table(name = "contract_bodies")
+@Data
+public class ContractBody {
+
+    // same value as contracts.id
+    @Id
+    @Column(name = "contract_id")
+    private Long contractId;
+
+    @Convert(converter = DeflateTextConverter.class)
+    @Column(name = "content", nullable = false)
+    private String content;
+
+    // uncompressed length in characters
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+}
@@ -0,0 +1,152 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.entity.AuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC for the audit hash chain: the head row, chained inserts and
+ * the Merkle checkpoints.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditChainRepository {
+
+    private static final String COLUMNS = "id, action, actor, details, timestamp, seq, hash";
+
+    private static final RowMapper<AuditLog> AUDIT_LOG = (rs, n) -> {
+        AuditLog row = new AuditLog();
+        row.setId(rs.getLong(1));
+        row.setAction(rs.getString(2));
+        row.setActor(rs.getString(3));
+        row.setDetails(rs.getString(4));
+        row.setTimestamp(rs.getTimestamp(5).toLocalDateTime());
+        row.setSeq(rs.getObject(6, Long.class));
+        row.setHash(rs.getString(7));
+        return row;
+    };
+
+    private static final RowMapper<Checkpoint> CHECKPOINT = (rs, n) ->
+            new Checkpoint(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ===== HEAD =====
+
+    // Blocks other appenders until the transaction ends
+    public Head lockHead() {
+        return jdbcTemplate.queryForObject("select seq, hash from audit_chain_head where id = 1 for update",
+                (rs, n) -> new Head(rs.getLong(1), rs.getString(2)));
+    }
+
+    public Head findHead() {
+        return jdbcTemplate.queryForObject("select seq, hash from audit_chain_head where id = 1",
+                (rs, n) -> new Head(rs.getLong(1), rs.getString(2)));
+    }
+
+    public void updateHead(Head head) {
+        jdbcTemplate.update("update audit_chain_head set seq = ?, hash = ? where id = 1", head.seq(), head.hash());
+    }
+
+    // ===== RECORDS =====
+
+    // ids are part of the hash, so they are drawn before the insert
+    public List<Long> reserveIds(int count) {
+        return jdbcTemplate.queryForList(
+                "select nextval(pg_get_serial_sequence('audit_logs', 'id')) from generate_series(1, ?)",
+                Long.class, count);
+    }
+
+    public void insert(List<AuditLog> rows) {
+        jdbcTemplate.batchUpdate("insert into audit_logs (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?)",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.getId());
+                    ps.setString(2, row.getAction());
+                    ps.setString(3, row.getActor());
+                    ps.setString(4, row.getDetails());
+                    ps.setTimestamp(5, Timestamp.valueOf(row.getTimestamp()));
+                    ps.setLong(6, row.getSeq());
+                    ps.setString(7, row.getHash());
+                });
+    }
+
+    // Live records in seq order; rows already archived are not returned
+    public List<AuditLog> findBySeq(long from, long to) {
+        return jdbcTemplate.query("select " + COLUMNS + " from audit_logs where seq between ? and ? order by seq",
+                AUDIT_LOG, from, to);
+    }
+
+    // The (seq, hash) leaves of live records in seq order; reads neither the record bodies nor archived rows
+    public List<Leaf> findLeavesBySeq(long from, long to) {
+        return jdbcTemplate.query("select seq, hash from audit_logs where seq between ? and ? order by seq",
+                (rs, n) -> new Leaf(rs.getLong(1), rs.getString(2)), from, to);
+    }
+
+    // Records written before the chain existed, in (timestamp, id) order after the cursor
+    public List<AuditLog> findUnchained(LocalDateTime afterTimestamp, Long afterId, int limit) {
+        if (afterTimestamp == null) {
+            return jdbcTemplate.query("select " + COLUMNS + " from audit_logs where seq is null "
+                    + "order by timestamp, id limit ?", AUDIT_LOG, limit);
+        }
+        return jdbcTemplate.query("select " + COLUMNS + " from audit_logs where seq is null "
+                + "and (timestamp, id) > (?, ?) order by timestamp, id limit ?",
+                AUDIT_LOG, Timestamp.valueOf(afterTimestamp), afterId, limit);
+    }
+
+    public void chain(List<AuditLog> rows) {
+        jdbcTemplate.batchUpdate("update audit_logs set seq = ?, hash = ? where id = ? and timestamp = ?",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.getSeq());
+                    ps.setString(2, row.getHash());
+                    ps.setLong(3, row.getId());
+                    ps.setTimestamp(4, Timestamp.valueOf(row.getTimestamp()));
+                });
+    }
+
+    // ===== CHECKPOINTS =====
+
+    public Optional<Checkpoint> findLastCheckpoint() {
+        return jdbcTemplate.query("select seq_from, seq_to, root, last_hash from audit_checkpoints "
+                + "order by seq_from desc limit 1", CHECKPOINT).stream().findFirst();
+    }
+
+    public Optional<Checkpoint> findCheckpoint(long seq) {
+        return jdbcTemplate.query("select seq_from, seq_to, root, last_hash from audit_checkpoints "
+                + "where seq_from <= ? and seq_to >= ?", CHECKPOINT, seq, seq).stream().findFirst();
+    }
+
+    // null when the block starts the chain
+    public String findHashBefore(long seqFrom) {
+        if (seqFrom == 1) {
+            return null;
+        }
+        return jdbcTemplate.query("select last_hash from audit_checkpoints where seq_to = ?",
+                (rs, n) -> rs.getString(1), seqFrom - 1).stream().findFirst().orElse(null);
+    }
+
+    public List<Checkpoint> findCheckpoints() {
+        return jdbcTemplate.query("select seq_from, seq_to, root, last_hash from audit_checkpoints "
+                + "order by seq_from", CHECKPOINT);
+    }
+
+    public void insertCheckpoint(Checkpoint checkpoint) {
+        jdbcTemplate.update("insert into audit_checkpoints (seq_from, seq_to, root, last_hash) values (?, ?, ?, ?)",
+                checkpoint.seqFrom(), checkpoint.seqTo(), checkpoint.root(), checkpoint.lastHash());
+    }
+
+    public record Head(long seq, String hash) {
+    }
+
+    public record Checkpoint(long seqFrom, long seqTo, String root, String lastHash) {
+    }
+
+    public record Leaf(long seq, String hash) {
+    }
+}
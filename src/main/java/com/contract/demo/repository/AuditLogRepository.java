@@ -3,4 +3,4 @@ package com.contract.demo.repository;
 import com.contract.demo.entity.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {}
\ No newline at end of file
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {}
@@ -0,0 +1,17 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.dto.AuditLogQuery;
+import com.contract.demo.dto.PageCursor;
+import com.contract.demo.entity.AuditLog;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface AuditLogRepositoryCustom {
+
+    // keyset page ordered by (timestamp, id) descending
+    List<AuditLog> findPage(AuditLogQuery query, PageCursor after, int limit);
+
+    // must be consumed inside a transaction and closed by the caller
+    Stream<AuditLog> streamMatching(AuditLogQuery query, int fetchSize);
+}
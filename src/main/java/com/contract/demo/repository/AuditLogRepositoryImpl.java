@@ -0,0 +1,74 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.dto.AuditLogQuery;
+import com.contract.demo.dto.PageCursor;
+import com.contract.demo.entity.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLog> findPage(AuditLogQuery query, PageCursor after, int limit) {
+        return entityManager.createQuery(criteria(query, after))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<AuditLog> streamMatching(AuditLogQuery query, int fetchSize) {
+        return entityManager.createQuery(criteria(query, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<AuditLog> criteria(AuditLogQuery query, PageCursor after) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLog> cq = cb.createQuery(AuditLog.class);
+        Root<AuditLog> a = cq.from(AuditLog.class);
+        Path<LocalDateTime> timestamp = a.get("timestamp");
+        Path<Long> id = a.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+
+        if (query.getActor() != null) {
+            where.add(cb.equal(a.get("actor"), query.getActor()));
+        }
+        if (query.getAction() != null) {
+            where.add(cb.equal(a.get("action"), query.getAction()));
+        }
+        if (query.getFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(timestamp, query.getFrom()));
+        }
+        if (query.getTo() != null) {
+            where.add(cb.lessThan(timestamp, query.getTo()));
+        }
+
+        // (timestamp, id) < (cursor.timestamp, cursor.id)
+        if (after != null) {
+            where.add(cb.lessThanOrEqualTo(timestamp, after.getTimestamp()));
+            where.add(cb.or(
+                    cb.lessThan(timestamp, after.getTimestamp()),
+                    cb.lessThan(id, after.getId())));
+        }
+
+        return cq.where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(timestamp), cb.desc(id));
+    }
+}
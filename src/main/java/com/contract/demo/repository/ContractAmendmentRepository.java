@@ -0,0 +1,29 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.dto.ContractAmendmentResponse;
+import com.contract.demo.entity.ContractAmendment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ContractAmendmentRepository extends JpaRepository<ContractAmendment, Long> {
+
+    Optional<ContractAmendment> findFirstByContractIdAndSnapshotTrueAndVersionLessThanEqualOrderByVersionDesc(
+            Long contractId, Integer version);
+
+    List<ContractAmendment> findByContractIdAndVersionBetweenOrderByVersionAsc(
+            Long contractId, Integer fromVersion, Integer toVersion);
+
+    // history without the payloads
+    @Query("""
+            select new com.contract.demo.dto.ContractAmendmentResponse(
+                   a.version, a.snapshot, a.contentLength, length(a.payload), a.author, a.remarks, a.createdAt)
+              from ContractAmendment a
+             where a.contractId = :contractId
+             order by a.version desc
+            """)
+    List<ContractAmendmentResponse> findHistory(@Param("contractId") Long contractId);
+}
@@ -0,0 +1,81 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC writes for status transitions, bypassing entity dirty checking.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContractBatchRepository {
+
+    // Compare-and-set: only succeeds while the row is still in the expected status
+    private static final String TRANSITION_SQL = """
+            update contracts
+               set status = ?, assigned_role = ?,
+                   finance_user_id = coalesce(?, finance_user_id),
+                   client_remarks = coalesce(?, client_remarks),
+                   updated_at = ?, stage_entered_at = ?, version = version + 1,
+                   escalated_at = null, claimed_by = null, claim_expires_at = null
+             where id = ? and status = ?
+               and (claimed_by is null or claimed_by = ? or claim_expires_at < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs all transitions as one JDBC batch. The result holds, per update,
+     * whether the row was still in its expected status and got changed.
+     */
+    public boolean[] compareAndSetStatus(List<StatusUpdate> updates) {
+        if (updates.isEmpty()) {
+            return new boolean[0];
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[] counts = jdbcTemplate.batchUpdate(TRANSITION_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StatusUpdate u = updates.get(i);
+                ps.setString(1, u.status().name());
+                ps.setString(2, u.assignedRole());
+                ps.setObject(3, u.financeUserId(), Types.BIGINT);
+                ps.setString(4, u.clientRemarks());
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+                ps.setLong(7, u.contractId());
+                ps.setString(8, u.expectedStatus().name());
+                ps.setObject(9, u.reviewerId(), Types.BIGINT);
+                ps.setTimestamp(10, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+
+        boolean[] applied = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            applied[i] = counts[i] > 0;
+        }
+        return applied;
+    }
+
+    // financeUserId / clientRemarks are left unchanged when null
+    public record StatusUpdate(Long contractId, ContractStatus expectedStatus,
+                               ContractStatus status, String assignedRole,
+                               Long reviewerId, Long financeUserId, String clientRemarks) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.entity.ContractBody;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ContractBodyRepository extends JpaRepository<ContractBody, Long> {
+}
@@ -0,0 +1,53 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Work-queue leases on contracts, taken in inbox order through the assigned_role indexes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContractClaimRepository {
+
+    // rows another reviewer is claiming right now are skipped, not waited for
+    private static final String CLAIM_SQL = """
+            update contracts c
+               set claimed_by = ?, claim_expires_at = ?
+              from (select id
+                      from contracts
+                     where assigned_role = ? and status = ?
+                       and (claimed_by is null or claimed_by = ? or claim_expires_at < ?)
+                     order by updated_at, id
+                     limit ?
+                       for update skip locked) next
+             where c.id = next.id
+            returning c.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Leases up to limit of the oldest contracts waiting in the status for
+     * the role that are unclaimed, past their lease, or already the
+     * reviewer's (renewed). Returns their ids, in no particular order.
+     */
+    public List<Long> claim(String role, ContractStatus status, Long reviewerId, LocalDateTime now,
+                            LocalDateTime expiresAt, int limit) {
+        return jdbcTemplate.queryForList(CLAIM_SQL, Long.class,
+                reviewerId, Timestamp.valueOf(expiresAt), role, status.name(), reviewerId, Timestamp.valueOf(now),
+                limit);
+    }
+
+    // false if the reviewer does not hold the contract
+    public boolean release(Long contractId, Long reviewerId) {
+        return jdbcTemplate.update("update contracts set claimed_by = null, claim_expires_at = null "
+                + "where id = ? and claimed_by = ?", contractId, reviewerId) > 0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * contract_counters: contract count and amount per (status, assigned role),
+ * kept in step with the contracts table by the transactions that change it.
+ * A null assigned role is stored as ''.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContractCounterRepository {
+
+    private static final RowMapper<Delta> DELTA = (rs, i) -> new Delta(ContractStatus.valueOf(rs.getString(1)),
+            roleOf(rs.getString(2)), rs.getLong(3), rs.getBigDecimal(4));
+
+    // one statement for all deltas, rows locked in key order; returns the writing transaction's id
+    private static final String ADD_SQL = """
+            with added as (
+                insert into contract_counters (status, assigned_role, slot, contract_count, total_amount)
+                select d.status, d.assigned_role, ?, d.contract_count, d.total_amount
+                  from unnest(?::varchar[], ?::varchar[], ?::bigint[], ?::numeric[])
+                       as d(status, assigned_role, contract_count, total_amount)
+                 order by d.status, d.assigned_role
+                on conflict (status, assigned_role, slot) do update
+                   set contract_count = contract_counters.contract_count + excluded.contract_count,
+                       total_amount = contract_counters.total_amount + excluded.total_amount
+            )
+            select pg_current_xact_id()::text::bigint
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the deltas (at most one per key) to the slot. Returns the id of
+     * the calling transaction, so reconciliation can tell whether its
+     * snapshot already includes them.
+     */
+    public long add(List<Delta> deltas, int slot) {
+        return jdbcTemplate.queryForObject(ADD_SQL, Long.class, slot,
+                deltas.stream().map(d -> d.status().name()).toArray(String[]::new),
+                deltas.stream().map(d -> roleKey(d.assignedRole())).toArray(String[]::new),
+                deltas.stream().map(Delta::count).toArray(Long[]::new),
+                deltas.stream().map(d -> d.amount().toPlainString()).toArray(String[]::new));
+    }
+
+    public List<Delta> findTotals() {
+        return jdbcTemplate.query("""
+                select status, assigned_role, sum(contract_count), sum(total_amount)
+                  from contract_counters
+                 group by status, assigned_role
+                """, DELTA);
+    }
+
+    // What the counters should hold, counted from contracts
+    public List<Delta> countContracts() {
+        return jdbcTemplate.query("""
+                select status, coalesce(assigned_role, ''), count(*), coalesce(sum(contract_amount), 0)
+                  from contracts
+                 where status is not null
+                 group by status, coalesce(assigned_role, '')
+                """, DELTA);
+    }
+
+    // xmin:xmax:xip_list of the transaction's snapshot; under REPEATABLE READ, the one all its reads see
+    public String currentSnapshot() {
+        return jdbcTemplate.queryForObject("select pg_current_snapshot()::text", String.class);
+    }
+
+    private static String roleKey(String assignedRole) {
+        return assignedRole == null ? "" : assignedRole;
+    }
+
+    private static String roleOf(String key) {
+        return key.isEmpty() ? null : key;
+    }
+
+    public record Delta(ContractStatus status, String assignedRole, long count, BigDecimal amount) {
+    }
+}
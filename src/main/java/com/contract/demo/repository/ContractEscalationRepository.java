@@ -0,0 +1,59 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.entity.ContractStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Overdue contracts for the escalation sweep, read through the partial
+ * idx_contracts_stage_escalation index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContractEscalationRepository {
+
+    private static final String OVERDUE_SQL = """
+            select id, status, assigned_role, client_user_id, stage_entered_at
+              from contracts
+             where status = ? and escalated_at is null and stage_entered_at < ?
+               and (stage_entered_at, id) > (?, ?)
+             order by stage_entered_at, id
+             limit ?
+               for update skip locked
+            """;
+
+    private static final String FIRST_OVERDUE_SQL = OVERDUE_SQL.replace("and (stage_entered_at, id) > (?, ?)", "");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Next page of contracts that entered the status before the cutoff,
+     * after the (stageEnteredAt, id) cursor (none for the first page), locked
+     * until the transaction ends. Rows another node (or a review) holds are
+     * skipped, not waited for.
+     */
+    public List<Overdue> lockOverdue(ContractStatus status, LocalDateTime cutoff, Overdue after, int limit) {
+        RowMapper<Overdue> mapper = (rs, i) -> new Overdue(rs.getLong(1), ContractStatus.valueOf(rs.getString(2)),
+                rs.getString(3), rs.getObject(4, Long.class), rs.getTimestamp(5).toLocalDateTime());
+        if (after == null) {
+            return jdbcTemplate.query(FIRST_OVERDUE_SQL, mapper, status.name(), Timestamp.valueOf(cutoff), limit);
+        }
+        return jdbcTemplate.query(OVERDUE_SQL, mapper, status.name(), Timestamp.valueOf(cutoff),
+                Timestamp.valueOf(after.stageEnteredAt()), after.id(), limit);
+    }
+
+    public void markEscalated(List<Long> ids, LocalDateTime at) {
+        jdbcTemplate.update("update contracts set escalated_at = ? where id = any(?)",
+                Timestamp.valueOf(at), ids.toArray(Long[]::new));
+    }
+
+    public record Overdue(long id, ContractStatus status, String assignedRole, Long clientUserId,
+                          LocalDateTime stageEnteredAt) {
+    }
+}
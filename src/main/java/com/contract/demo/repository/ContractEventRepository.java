@@ -0,0 +1,120 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.dto.ContractStatusEvent;
+import com.contract.demo.entity.ContractStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * contract_events, the status change outbox, and the position each node has
+ * consumed it up to (contract_event_consumers).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContractEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(List<ContractStatusEvent> events) {
+        jdbcTemplate.batchUpdate("""
+                insert into contract_events (kind, contract_id, from_status, to_status, from_role, to_role,
+                                             client_user_id)
+                values (?, ?, ?, ?, ?, ?, ?)
+                """, events.stream().map(e -> new Object[]{e.getKind().name(), e.getContractId(),
+                name(e.getFromStatus()), e.getToStatus().name(), e.getFromRole(), e.getToRole(),
+                e.getClientUserId()}).toList());
+    }
+
+    // ===== RELAY =====
+
+    // one relay at a time across the cluster, until the transaction ends
+    public boolean tryLockRelay(long key) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)",
+                Boolean.class, key));
+    }
+
+    /**
+     * Gives the oldest events without one a seq, the order consumers read
+     * in, and returns how many it numbered. Ids are taken when a transition
+     * writes and may commit out of order; seqs are only given out under the
+     * relay lock, so a reader never finds a lower one committing later.
+     */
+    public int sequence(int limit) {
+        return jdbcTemplate.update("""
+                update contract_events set seq = nextval('contract_events_seq')
+                 where id in (select id from contract_events where seq is null order by id limit ?)
+                """, limit);
+    }
+
+    // NOTIFY, one per payload; delivered to listening sessions when the transaction commits
+    public void notify(String channel, List<String> payloads) {
+        jdbcTemplate.query("select pg_notify(?, p) from unnest(?::text[]) p", rs -> {
+        }, channel, payloads.toArray(String[]::new));
+    }
+
+    // ===== CONSUMERS =====
+
+    public List<Relayed> findRelayedAfter(long seq, int limit) {
+        return jdbcTemplate.query("""
+                select id, contract_id, from_status, to_status, from_role, to_role, client_user_id, occurred_at, kind,
+                       seq
+                  from contract_events
+                 where seq > ?
+                 order by seq
+                 limit ?
+                """, (rs, i) -> new Relayed(rs.getLong(10), map(rs, i)), seq, limit);
+    }
+
+    public long lastSeq() {
+        return jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from contract_events", Long.class);
+    }
+
+    public Optional<Long> findPosition(String node) {
+        return jdbcTemplate.queryForList("select position from contract_event_consumers where node = ?",
+                Long.class, node).stream().findFirst();
+    }
+
+    // also records that the node is still consuming
+    public void savePosition(String node, long position) {
+        jdbcTemplate.update("""
+                insert into contract_event_consumers (node, position) values (?, ?)
+                on conflict (node) do update set position = excluded.position, updated_at = now()
+                """, node, position);
+    }
+
+    /**
+     * Deletes the events every node seen within the retention has consumed,
+     * and any relayed event older than the retention. Nodes that stopped
+     * consuming longer ago no longer hold events back.
+     */
+    public int deleteConsumed(Duration retention) {
+        return jdbcTemplate.update("""
+                delete from contract_events
+                 where seq <= (select min(position) from contract_event_consumers
+                                where updated_at > now() - make_interval(secs => ?))
+                    or (seq is not null and occurred_at < now() - make_interval(secs => ?))
+                """, retention.toSeconds(), retention.toSeconds());
+    }
+
+    private static ContractStatusEvent map(ResultSet rs, int i) throws SQLException {
+        String from = rs.getString(3);
+        return new ContractStatusEvent(rs.getLong(1), ContractStatusEvent.Kind.valueOf(rs.getString(9)), rs.getLong(2),
+                from == null ? null : ContractStatus.valueOf(from), ContractStatus.valueOf(rs.getString(4)),
+                rs.getString(5), rs.getString(6), rs.getObject(7, Long.class),
+                rs.getTimestamp(8).toLocalDateTime());
+    }
+
+    private static String name(ContractStatus status) {
+        return status == null ? null : status.name();
+    }
+
+    public record Relayed(long seq, ContractStatusEvent event) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.dto.ContractImportFormat;
+import com.contract.demo.dto.ContractImportResponse;
+import com.contract.demo.dto.ContractImportResponse.ContractImportStatus;
+import com.contract.demo.dto.ContractImportResponse.RowError;
+import com.contract.demo.dto.CreateContractRequest;
+import com.contract.demo.entity.ContractStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC for bulk imports: batched contract inserts with ids drawn from
+ * the contracts sequence, and the contract_imports checkpoint.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContractImportRepository {
+
+    private static final String INSERT_SQL = """
+            insert into contracts (id, contract_name, client_id, client_user_id, effective_date, contract_amount,
+                                   status, assigned_role, active, current_version, version, created_at, updated_at,
+                                   stage_entered_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, true, 0, 0, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ===== CONTRACTS =====
+
+    /**
+     * Allocates count ids from the sequence behind contracts.id in one round
+     * trip, so a whole chunk can be inserted with its keys already known.
+     */
+    public List<Long> reserveIds(int count) {
+        return jdbcTemplate.queryForList(
+                "select nextval(pg_get_serial_sequence('contracts', 'id')) from generate_series(1, ?)",
+                Long.class, count);
+    }
+
+    // ids of the given users that hold the CLIENT role
+    public List<Long> findClientUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("""
+                select ur.user_id
+                  from user_roles ur
+                  join roles r on r.id = ur.role_id
+                 where r.name = 'CLIENT' and ur.user_id = any(?)
+                """, Long.class, (Object) userIds.toArray(Long[]::new));
+    }
+
+    public void insertContracts(List<NewContract> contracts, ContractStatus status, String assignedRole,
+                                int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, contracts, batchSize, (ps, c) -> {
+            CreateContractRequest r = c.request();
+            ps.setLong(1, c.id());
+            ps.setString(2, r.getContractName());
+            ps.setObject(3, r.getClientId(), Types.BIGINT);
+            ps.setObject(4, c.clientUserId(), Types.BIGINT);
+            ps.setDate(5, r.getEffectiveDate() == null ? null : Date.valueOf(r.getEffectiveDate()));
+            ps.setBigDecimal(6, r.getContractAmount());
+            ps.setString(7, status.name());
+            ps.setString(8, assignedRole);
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+    }
+
+    // ===== CHECKPOINT =====
+
+    public void create(String importId, ContractImportFormat format, String createdBy) {
+        jdbcTemplate.update("insert into contract_imports (id, format, status, created_by) values (?, ?, ?, ?)",
+                importId, format.name(), ContractImportStatus.IN_PROGRESS.name(), createdBy);
+    }
+
+    // errors are filled in separately
+    public Optional<ContractImportResponse> find(String importId) {
+        return jdbcTemplate.query("""
+                select id, format, status, last_line, imported, failed
+                  from contract_imports
+                 where id = ?
+                """, (rs, i) -> new ContractImportResponse(rs.getString(1),
+                ContractImportFormat.valueOf(rs.getString(2)), ContractImportStatus.valueOf(rs.getString(3)),
+                rs.getLong(4), rs.getLong(5), rs.getLong(6), null), importId).stream().findFirst();
+    }
+
+    /**
+     * Moves the checkpoint from expectedLine to lastLine inside the chunk's
+     * transaction. Returns false when another upload of the same import
+     * moved it first; the caller must then roll back.
+     */
+    public boolean advance(String importId, long expectedLine, long lastLine, long imported, long failed,
+                           boolean completed) {
+        return jdbcTemplate.update("""
+                update contract_imports
+                   set last_line = ?, imported = imported + ?, failed = failed + ?, status = ?, updated_at = now()
+                 where id = ? and last_line = ? and status = ?
+                """, lastLine, imported, failed,
+                (completed ? ContractImportStatus.COMPLETED : ContractImportStatus.IN_PROGRESS).name(),
+                importId, expectedLine, ContractImportStatus.IN_PROGRESS.name()) > 0;
+    }
+
+    public void addErrors(String importId, List<RowError> errors) {
+        jdbcTemplate.batchUpdate("insert into contract_import_errors (import_id, line, message) values (?, ?, ?)",
+                errors.stream().map(e -> new Object[]{importId, e.getLine(), e.getMessage()}).toList());
+    }
+
+    public List<RowError> findErrors(String importId, int limit) {
+        return jdbcTemplate.query("""
+                select line, message from contract_import_errors
+                 where import_id = ?
+                 order by line
+                 limit ?
+                """, (rs, i) -> new RowError(rs.getLong(1), rs.getString(2)), importId, limit);
+    }
+
+    public record NewContract(long id, CreateContractRequest request, Long clientUserId) {
+    }
+}
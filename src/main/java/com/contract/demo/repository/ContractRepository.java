@@ -1,13 +1,100 @@
 package com.contract.demo.repository;
 
+import com.contract.demo.dto.ContractDetailResponse;
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.dto.ContractSearchDocument;
+import com.contract.demo.dto.ContractStamp;
+import com.contract.demo.dto.ContractState;
+import com.contract.demo.dto.ContractSummaryResponse.StatusSummary;
 import com.contract.demo.entity.Contract;
 import com.contract.demo.entity.ContractStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ContractRepository extends JpaRepository<Contract, Long> {
+public interface ContractRepository extends JpaRepository<Contract, Long>, ContractRepositoryCustom {
     List<Contract> findByStatus(ContractStatus status);
     List<Contract> findByClientUser_Id(Long clientUserId);
     List<Contract> findByAssignedRole(String assignedRole);
+
+    @Query("""
+            select new com.contract.demo.dto.ContractState(
+                   c.id, c.status, c.assignedRole, c.clientUser.id, c.contractAmount, c.createdAt, c.stageEnteredAt)
+              from Contract c
+             where c.id = :id
+            """)
+    Optional<ContractState> findStateById(@Param("id") Long id);
+
+    @Query("""
+            select new com.contract.demo.dto.ContractState(
+                   c.id, c.status, c.assignedRole, c.clientUser.id, c.contractAmount, c.createdAt, c.stageEnteredAt)
+              from Contract c
+             where c.id in :ids
+            """)
+    List<ContractState> findStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.contract.demo.dto.ContractResponse(
+                   c.id, c.contractName, c.contractAmount, c.status, c.assignedRole,
+                   c.effectiveDate, c.clientUser.id, c.createdAt, c.updatedAt)
+              from Contract c
+             where c.id = :id
+            """)
+    Optional<ContractResponse> findResponseById(@Param("id") Long id);
+
+    // ETag check for the detail views; primary key only, no body join
+    @Query("""
+            select new com.contract.demo.dto.ContractStamp(c.id, c.clientUser.id, c.version, c.updatedAt)
+              from Contract c
+             where c.id = :id
+            """)
+    Optional<ContractStamp> findStampById(@Param("id") Long id);
+
+    @Query("""
+            select new com.contract.demo.dto.ContractDetailResponse(
+                   c.id, c.contractName, c.title, b.content, c.contractAmount, c.effectiveDate,
+                   c.status, c.assignedRole, c.clientId, c.clientUser.id, c.legalUserId, c.financeUserId,
+                   c.clientRemarks, c.active, c.createdAt, c.updatedAt, c.version)
+              from Contract c
+              left join ContractBody b on b.contractId = c.id
+             where c.id = :id
+            """)
+    Optional<ContractDetailResponse> findDetailById(@Param("id") Long id);
+
+    @Query("""
+            select new com.contract.demo.dto.ContractResponse(
+                   c.id, c.contractName, c.contractAmount, c.status, c.assignedRole,
+                   c.effectiveDate, c.clientUser.id, c.createdAt, c.updatedAt)
+              from Contract c
+             where c.id in :ids
+            """)
+    List<ContractResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // search index build and catch-up: contracts changed since a time, keyset on (updatedAt, id)
+    @Query("""
+            select new com.contract.demo.dto.ContractSearchDocument(
+                   c.id, c.contractName, c.title, b.content, c.updatedAt)
+              from Contract c
+              left join ContractBody b on b.contractId = c.id
+             where c.updatedAt >= :at and (c.updatedAt > :at or c.id > :after)
+             order by c.updatedAt, c.id
+            """)
+    List<ContractSearchDocument> findSearchDocumentsChangedSince(@Param("at") LocalDateTime at,
+                                                                 @Param("after") Long after, Limit limit);
+
+    // one client's contracts only, answered from idx_contracts_client_updated
+    @Query("""
+            select new com.contract.demo.dto.ContractSummaryResponse$StatusSummary(
+                   c.status, count(c), sum(c.contractAmount))
+              from Contract c
+             where c.clientUser.id = :clientUserId
+             group by c.status
+            """)
+    List<StatusSummary> summarizeByClient(@Param("clientUserId") Long clientUserId);
 }
@@ -0,0 +1,29 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.dto.ContractInboxQuery;
+import com.contract.demo.dto.PageCursor;
+import com.contract.demo.dto.ContractResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ContractRepositoryCustom {
+
+    /**
+     * Keyset page ordered by (updatedAt, id) descending. Exactly one of
+     * assignedRole / clientUserId is expected to scope the inbox.
+     */
+    List<ContractResponse> findInboxPage(String assignedRole, Long clientUserId,
+                                 ContractInboxQuery query, PageCursor after, int limit);
+
+    /**
+     * Row count and latest updatedAt over the same inbox and filters, ignoring
+     * the cursor. Every transition and edit moves updatedAt to now, and a
+     * contract leaving the inbox lowers the count, so any change to any page
+     * changes one of the two.
+     */
+    InboxVersion findInboxVersion(String assignedRole, Long clientUserId, ContractInboxQuery query);
+
+    record InboxVersion(Long count, LocalDateTime lastUpdatedAt) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.dto.ContractInboxQuery;
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.dto.PageCursor;
+import com.contract.demo.entity.Contract;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ContractRepositoryImpl implements ContractRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ContractResponse> findInboxPage(String assignedRole, Long clientUserId,
+                                                ContractInboxQuery query, PageCursor after, int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ContractResponse> cq = cb.createQuery(ContractResponse.class);
+        Root<Contract> c = cq.from(Contract.class);
+        // FK column only, no join to users
+        Path<Long> clientUser = c.get("clientUser").get("id");
+        Path<LocalDateTime> updatedAt = c.get("updatedAt");
+        Path<Long> id = c.get("id");
+
+        // only the list columns; never the entity, its content or the client user graph
+        cq.select(cb.construct(ContractResponse.class,
+                id, c.get("contractName"), c.get("contractAmount"), c.get("status"),
+                c.get("assignedRole"), c.get("effectiveDate"), clientUser,
+                c.get("createdAt"), updatedAt));
+
+        List<Predicate> where = filters(cb, c, assignedRole, clientUserId, query);
+
+        // (updatedAt, id) < (cursor.timestamp, cursor.id); the redundant "<=" keeps it an index range scan
+        if (after != null) {
+            where.add(cb.lessThanOrEqualTo(updatedAt, after.getTimestamp()));
+            where.add(cb.or(
+                    cb.lessThan(updatedAt, after.getTimestamp()),
+                    cb.lessThan(id, after.getId())));
+        }
+
+        cq.where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(updatedAt), cb.desc(id));
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public InboxVersion findInboxVersion(String assignedRole, Long clientUserId, ContractInboxQuery query) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InboxVersion> cq = cb.createQuery(InboxVersion.class);
+        Root<Contract> c = cq.from(Contract.class);
+
+        // answered from the inbox indexes alone
+        cq.select(cb.construct(InboxVersion.class, cb.count(c), cb.greatest(c.<LocalDateTime>get("updatedAt"))))
+                .where(filters(cb, c, assignedRole, clientUserId, query).toArray(new Predicate[0]));
+
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Contract> c,
+                                           String assignedRole, Long clientUserId, ContractInboxQuery query) {
+        Path<Long> clientUser = c.get("clientUser").get("id");
+        Path<LocalDateTime> updatedAt = c.get("updatedAt");
+
+        List<Predicate> where = new ArrayList<>();
+
+        if (assignedRole != null) {
+            where.add(cb.equal(c.get("assignedRole"), assignedRole));
+        }
+        if (clientUserId != null) {
+            where.add(cb.equal(clientUser, clientUserId));
+        }
+        if (query.getStatus() != null) {
+            where.add(cb.equal(c.get("status"), query.getStatus()));
+        }
+        if (query.getFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(updatedAt, query.getFrom()));
+        }
+        if (query.getTo() != null) {
+            where.add(cb.lessThan(updatedAt, query.getTo()));
+        }
+
+        return where;
+    }
+}
@@ -0,0 +1,10 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.entity.Permission;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface PermissionRepository extends JpaRepository<Permission, Long> {
+    Optional<Permission> findByName(String name);
+}
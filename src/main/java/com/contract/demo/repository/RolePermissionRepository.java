@@ -0,0 +1,19 @@
+package com.contract.demo.repository;
+
+import com.contract.demo.entity.Role;
+import com.contract.demo.entity.RolePermission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface RolePermissionRepository extends JpaRepository<RolePermission, Long> {
+
+    @Query("select rp from RolePermission rp join fetch rp.role join fetch rp.permission")
+    List<RolePermission> findAllWithRoleAndPermission();
+
+    @Modifying
+    @Query("delete from RolePermission rp where rp.role = :role")
+    void deleteByRole(Role role);
+}
@@ -2,9 +2,17 @@ package com.contract.demo.repository;
 
 import com.contract.demo.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    boolean existsByIdAndRoles_Name(Long id, String roleName);
+
+    // roles in the same query; findAll() would load them one user at a time
+    @Query("select distinct u from User u left join fetch u.roles order by u.id")
+    List<User> findAllWithRoles();
+}
@@ -0,0 +1,372 @@
+package com.contract.demo.service;
+
+import com.contract.demo.config.AuditArchiveProperties;
+import com.contract.demo.dto.AuditLogQuery;
+import com.contract.demo.dto.PageCursor;
+import com.contract.demo.entity.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Audit months moved out of the database. Each month is one segment file of
+ * gzip members (blocks of NDJSON records in (timestamp, id) order) plus a
+ * small JSON index with the time range and actors of the segment and of each
+ * block. Queries use the index to read only the blocks that can match.
+ * The index also keeps the range of chain sequence numbers, so the
+ * verification of a checkpoint can find its archived records.
+ *
+ * Segments are written once, to a temporary name, and renamed into place;
+ * a segment without its index is ignored. The directory may be shared by
+ * several nodes, so it is rescanned before every read and write.
+ */
+@Slf4j
+@Component
+public class AuditArchive {
+
+    private static final String FILE_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx.json";
+
+    private final AuditArchiveProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentSkipListMap<YearMonth, SegmentIndex> segments = new ConcurrentSkipListMap<>();
+
+    public AuditArchive(AuditArchiveProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+        Files.createDirectories(properties.getPath());
+        refresh();
+    }
+
+    public SegmentIndex index(YearMonth month) {
+        refresh();
+        return segments.get(month);
+    }
+
+    /**
+     * Syncs the loaded indexes with the directory: picks up months other
+     * nodes archived and forgets segments that were removed. An index never
+     * changes once written, so only new ones are read.
+     */
+    private void refresh() {
+        Set<YearMonth> found = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(properties.getPath(),
+                FILE_PREFIX + "*" + INDEX_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                YearMonth month = YearMonth.parse(name.substring(FILE_PREFIX.length(),
+                        name.length() - INDEX_SUFFIX.length()));
+                found.add(month);
+                if (!segments.containsKey(month)) {
+                    segments.putIfAbsent(month, objectMapper.readValue(file.toFile(), SegmentIndex.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.keySet().retainAll(found);
+    }
+
+    // ===== WRITE =====
+
+    // Rows must be appended in (timestamp, id) ascending order; an existing segment is never replaced
+    public SegmentWriter open(YearMonth month) {
+        refresh();
+        if (segments.containsKey(month) || Files.exists(file(month, SEGMENT_SUFFIX))) {
+            throw new IllegalStateException("Audit segment " + month + " already exists");
+        }
+        return new SegmentWriter(month);
+    }
+
+    // Removes a segment that turned out not to match its partition; the index goes first
+    public void discard(YearMonth month) {
+        try {
+            Files.deleteIfExists(file(month, INDEX_SUFFIX));
+            Files.deleteIfExists(file(month, SEGMENT_SUFFIX));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.remove(month);
+    }
+
+    public final class SegmentWriter implements AutoCloseable {
+
+        private final YearMonth month;
+        private final Path segmentTemp;
+        private final FileChannel channel;
+
+        private final List<Block> blocks = new ArrayList<>();
+        private final Set<String> actors = new TreeSet<>();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private Writer block;
+        private final Set<String> blockActors = new TreeSet<>();
+        private int blockCount;
+        private LocalDateTime blockFrom;
+        private LocalDateTime blockTo;
+        private Long blockSeqFrom;
+        private Long blockSeqTo;
+
+        private long offset;
+        private long count;
+        private boolean finished;
+
+        private SegmentWriter(YearMonth month) {
+            this.month = month;
+            this.segmentTemp = file(month, SEGMENT_SUFFIX + ".tmp");
+            try {
+                this.channel = FileChannel.open(segmentTemp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void append(AuditLog row) {
+            try {
+                if (block == null) {
+                    buffer.reset();
+                    block = new OutputStreamWriter(new GZIPOutputStream(buffer), StandardCharsets.UTF_8);
+                    blockFrom = row.getTimestamp();
+                }
+                block.write(objectMapper.writeValueAsString(row));
+                block.write('\n');
+                blockTo = row.getTimestamp();
+                blockCount++;
+                if (row.getActor() != null) {
+                    blockActors.add(row.getActor());
+                }
+                // not in seq order within the month; records from before the chain have none
+                if (row.getSeq() != null) {
+                    blockSeqFrom = blockSeqFrom == null ? row.getSeq() : Math.min(blockSeqFrom, row.getSeq());
+                    blockSeqTo = blockSeqTo == null ? row.getSeq() : Math.max(blockSeqTo, row.getSeq());
+                }
+
+                if (blockCount == properties.getBlockSize()) {
+                    flushBlock();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Makes the segment durable and visible to queries
+        public SegmentIndex finish() {
+            try {
+                if (block != null) {
+                    flushBlock();
+                }
+                channel.force(true);
+                channel.close();
+
+                SegmentIndex index = new SegmentIndex(month.toString(), count,
+                        blocks.isEmpty() ? null : blocks.get(0).from(),
+                        blocks.isEmpty() ? null : blocks.get(blocks.size() - 1).to(),
+                        blocks.stream().map(Block::seqFrom).filter(Objects::nonNull).min(Long::compare).orElse(null),
+                        blocks.stream().map(Block::seqTo).filter(Objects::nonNull).max(Long::compare).orElse(null),
+                        List.copyOf(actors), List.copyOf(blocks));
+
+                Path indexTemp = file(month, INDEX_SUFFIX + ".tmp");
+                try (FileChannel out = FileChannel.open(indexTemp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    ByteBuffer data = ByteBuffer.wrap(objectMapper.writeValueAsBytes(index));
+                    while (data.hasRemaining()) {
+                        out.write(data);
+                    }
+                    out.force(true);
+                }
+
+                // the index goes last: it is what makes the segment exist
+                if (Files.exists(file(month, SEGMENT_SUFFIX))) {
+                    throw new IllegalStateException("Audit segment " + month + " already exists");
+                }
+                Files.move(segmentTemp, file(month, SEGMENT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+                Files.move(indexTemp, file(month, INDEX_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+
+                segments.put(month, index);
+                finished = true;
+                return index;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            block.close();
+            byte[] bytes = buffer.toByteArray();
+            ByteBuffer data = ByteBuffer.wrap(bytes);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+
+            blocks.add(new Block(offset, bytes.length, blockCount, blockFrom, blockTo,
+                    blockSeqFrom, blockSeqTo, List.copyOf(blockActors)));
+            actors.addAll(blockActors);
+            offset += bytes.length;
+            count += blockCount;
+
+            block = null;
+            blockActors.clear();
+            blockCount = 0;
+            blockSeqFrom = null;
+            blockSeqTo = null;
+        }
+
+        @Override
+        public void close() {
+            if (finished) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(segmentTemp);
+            } catch (IOException e) {
+                log.warn("Could not clean up unfinished audit segment {}", month, e);
+            }
+        }
+    }
+
+    // ===== READ =====
+
+    /**
+     * Archived rows matching the query, newest first, after the cursor.
+     * Months in skip are left out (they are still served by the database).
+     * Blocks are read lazily, so a limited stream only reads what it needs.
+     */
+    public Stream<AuditLog> read(AuditLogQuery query, PageCursor after, Set<YearMonth> skip) {
+        refresh();
+        return segments.descendingMap().values().stream()
+                .filter(s -> s.count() > 0 && !skip.contains(YearMonth.parse(s.month())))
+                .filter(s -> overlaps(s.from(), s.to(), s.actors(), query, after))
+                .flatMap(s -> s.blocks().reversed().stream()
+                        .filter(b -> overlaps(b.from(), b.to(), b.actors(), query, after))
+                        .flatMap(b -> readBlock(YearMonth.parse(s.month()), b).stream()))
+                .filter(row -> matches(row, query, after));
+    }
+
+    // Archived records with seq in [from, to], in seq order
+    public List<AuditLog> readSeq(long from, long to) {
+        refresh();
+        List<AuditLog> rows = new ArrayList<>();
+        for (SegmentIndex s : segments.values()) {
+            if (!overlaps(s.seqFrom(), s.seqTo(), from, to)) {
+                continue;
+            }
+            for (Block b : s.blocks()) {
+                if (overlaps(b.seqFrom(), b.seqTo(), from, to)) {
+                    readBlock(YearMonth.parse(s.month()), b).stream()
+                            .filter(row -> row.getSeq() != null && row.getSeq() >= from && row.getSeq() <= to)
+                            .forEach(rows::add);
+                }
+            }
+        }
+        rows.sort(Comparator.comparing(AuditLog::getSeq));
+        return rows;
+    }
+
+    private List<AuditLog> readBlock(YearMonth month, Block block) {
+        ByteBuffer data = ByteBuffer.allocate(block.length());
+        try (FileChannel channel = FileChannel.open(file(month, SEGMENT_SUFFIX), StandardOpenOption.READ)) {
+            while (data.hasRemaining()) {
+                if (channel.read(data, block.offset() + data.position()) < 0) {
+                    throw new IOException("Audit segment " + month + " is truncated");
+                }
+            }
+
+            List<AuditLog> rows = new ArrayList<>(block.count());
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(data.array())), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    rows.add(objectMapper.readValue(line, AuditLog.class));
+                }
+            }
+            Collections.reverse(rows);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean overlaps(LocalDateTime from, LocalDateTime to, List<String> actors,
+                                    AuditLogQuery query, PageCursor after) {
+        if (query.getActor() != null && Collections.binarySearch(actors, query.getActor()) < 0) {
+            return false;
+        }
+        if (query.getFrom() != null && to.isBefore(query.getFrom())) {
+            return false;
+        }
+        if (query.getTo() != null && !from.isBefore(query.getTo())) {
+            return false;
+        }
+        return after == null || !from.isAfter(after.getTimestamp());
+    }
+
+    private static boolean overlaps(Long seqFrom, Long seqTo, long from, long to) {
+        return seqFrom != null && seqFrom <= to && seqTo >= from;
+    }
+
+    private static boolean matches(AuditLog row, AuditLogQuery query, PageCursor after) {
+        LocalDateTime ts = row.getTimestamp();
+        if (query.getActor() != null && !query.getActor().equals(row.getActor())) {
+            return false;
+        }
+        if (query.getAction() != null && !query.getAction().equals(row.getAction())) {
+            return false;
+        }
+        if (query.getFrom() != null && ts.isBefore(query.getFrom())) {
+            return false;
+        }
+        if (query.getTo() != null && !ts.isBefore(query.getTo())) {
+            return false;
+        }
+        // (timestamp, id) < (cursor.timestamp, cursor.id)
+        return after == null || ts.isBefore(after.getTimestamp())
+                || (ts.equals(after.getTimestamp()) && row.getId() < after.getId());
+    }
+
+    private Path file(YearMonth month, String suffix) {
+        return properties.getPath().resolve(FILE_PREFIX + month + suffix);
+    }
+
+    // actors are sorted, so membership is a binary search
+    // seqFrom/seqTo are null for segments written before the hash chain
+    public record SegmentIndex(String month, long count, LocalDateTime from, LocalDateTime to,
+                               Long seqFrom, Long seqTo, List<String> actors, List<Block> blocks) {
+    }
+
+    public record Block(long offset, int length, int count, LocalDateTime from, LocalDateTime to,
+                        Long seqFrom, Long seqTo, List<String> actors) {
+    }
+}
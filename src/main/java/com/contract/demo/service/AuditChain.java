@@ -0,0 +1,293 @@
+package com.contract.demo.service;
+
+import com.contract.demo.config.AuditChainProperties;
+import com.contract.demo.dto.AuditProof.ProofStep;
+import com.contract.demo.dto.ContractStamp;
+import com.contract.demo.entity.AuditLog;
+import com.contract.demo.repository.AuditChainRepository;
+import com.contract.demo.repository.AuditChainRepository.Checkpoint;
+import com.contract.demo.repository.AuditChainRepository.Head;
+import com.contract.demo.repository.AuditChainRepository.Leaf;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tamper evidence for audit_logs.
+ *
+ * Records are numbered 1, 2, 3, ... (seq) in the order they are appended,
+ * and each carries hash = SHA-256(hash of seq - 1, seq, id, timestamp, actor,
+ * action, details). Changing or deleting a record breaks the link to the next
+ * one. Every checkpointSize records a Merkle root over their hashes is stored
+ * (and logged), so rewriting a whole suffix of the chain is caught as well,
+ * and a single record can be proven with log2(checkpointSize) hashes.
+ *
+ * Appenders serialize on the audit_chain_head row, always in a transaction
+ * of their own: the writer's caller-runs path appends from afterCommit
+ * callbacks, where joining the finished business transaction would run the
+ * statements in autocommit and release the head lock straight away.
+ */
+@Slf4j
+@Component
+public class AuditChain {
+
+    // hash before seq 1
+    public static final String GENESIS = "0".repeat(64);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    // domain separation, so a leaf can never pass for an inner node
+    private static final byte LEAF = 0;
+    private static final byte NODE = 1;
+
+    private final AuditChainRepository repository;
+    private final AuditArchive archive;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditChainProperties properties;
+
+    public AuditChain(AuditChainRepository repository, AuditArchive archive,
+                      PlatformTransactionManager transactionManager, AuditChainProperties properties) {
+        this.repository = repository;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+    }
+
+    // ===== APPEND =====
+
+    /**
+     * Inserts the rows as the next records of the chain in one transaction,
+     * assigning their id, seq and hash, and writes any checkpoint they fill.
+     */
+    public void append(List<AuditLog> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Head head = repository.lockHead();
+            List<Long> ids = repository.reserveIds(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                AuditLog row = rows.get(i);
+                row.setId(ids.get(i));
+                // the column keeps microseconds; the hash must match what is read back
+                row.setTimestamp(row.getTimestamp().truncatedTo(ChronoUnit.MICROS));
+            }
+            head = link(head, rows);
+            repository.insert(rows);
+            repository.updateHead(head);
+            checkpoint(head);
+        });
+    }
+
+    /**
+     * Chains the records written before the chain existed, oldest first, in
+     * batches. Runs before the writer starts; later records follow them.
+     */
+    public void seal() {
+        LocalDateTime afterTimestamp = null;
+        Long afterId = null;
+        long sealed = 0;
+
+        while (true) {
+            LocalDateTime cursorTimestamp = afterTimestamp;
+            Long cursorId = afterId;
+            List<AuditLog> rows = transactionTemplate.execute(status -> {
+                Head head = repository.lockHead();
+                List<AuditLog> batch = repository.findUnchained(cursorTimestamp, cursorId,
+                        properties.getBackfillBatchSize());
+                if (!batch.isEmpty()) {
+                    head = link(head, batch);
+                    repository.chain(batch);
+                    repository.updateHead(head);
+                    checkpoint(head);
+                }
+                return batch;
+            });
+            if (rows == null || rows.isEmpty()) {
+                break;
+            }
+            AuditLog last = rows.get(rows.size() - 1);
+            afterTimestamp = last.getTimestamp();
+            afterId = last.getId();
+            sealed += rows.size();
+        }
+
+        if (sealed > 0) {
+            log.info("Chained {} audit records written before the hash chain", sealed);
+        }
+    }
+
+    private static Head link(Head head, List<AuditLog> rows) {
+        MessageDigest digest = sha256();
+        byte[] previous = HEX.parseHex(head.hash());
+        long seq = head.seq();
+        for (AuditLog row : rows) {
+            row.setSeq(++seq);
+            previous = hash(digest, previous, row);
+            row.setHash(HEX.formatHex(previous));
+        }
+        return new Head(seq, HEX.formatHex(previous));
+    }
+
+    // Writes a checkpoint for every full block up to the head
+    private void checkpoint(Head head) {
+        long from = repository.findLastCheckpoint().map(c -> c.seqTo() + 1).orElse(1L);
+        int size = properties.getCheckpointSize();
+
+        while (head.seq() - from + 1 >= size) {
+            long to = from + size - 1;
+            List<AuditLog> rows = records(from, to);
+            if (rows.size() != size) {
+                log.error("Audit records {}..{} are incomplete ({} of {}); no checkpoint written",
+                        from, to, rows.size(), size);
+                return;
+            }
+            String root = root(rows.stream().map(AuditLog::getHash).toList());
+            repository.insertCheckpoint(new Checkpoint(from, to, root, rows.get(size - 1).getHash()));
+            log.info("Audit checkpoint {}..{} root {}", from, to, root);
+            from = to + 1;
+        }
+    }
+
+    // ===== READ =====
+
+    /**
+     * Records with seq in [from, to], in seq order, from the database and,
+     * for months already moved out, the archive. The database is read first:
+     * a record archived in between is then found in the archive.
+     */
+    public List<AuditLog> records(long from, long to) {
+        List<AuditLog> live = repository.findBySeq(from, to);
+        if (live.size() == to - from + 1) {
+            return live;
+        }
+        Map<Long, AuditLog> bySeq = new TreeMap<>();
+        archive.readSeq(from, to).forEach(row -> bySeq.put(row.getSeq(), row));
+        live.forEach(row -> bySeq.put(row.getSeq(), row));
+        return new ArrayList<>(bySeq.values());
+    }
+
+    // The chain hashes of records with seq in [from, to], in seq order; read like records, minus the bodies
+    public List<String> hashes(long from, long to) {
+        List<Leaf> live = repository.findLeavesBySeq(from, to);
+        if (live.size() == to - from + 1) {
+            return live.stream().map(Leaf::hash).toList();
+        }
+        Map<Long, String> bySeq = new TreeMap<>();
+        archive.readSeq(from, to).forEach(row -> bySeq.put(row.getSeq(), row.getHash()));
+        live.forEach(leaf -> bySeq.put(leaf.seq(), leaf.hash()));
+        return new ArrayList<>(bySeq.values());
+    }
+
+    // ===== HASHING =====
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String hash(String previous, AuditLog row) {
+        return HEX.formatHex(hash(sha256(), HEX.parseHex(previous), row));
+    }
+
+    static byte[] hash(MessageDigest digest, byte[] previous, AuditLog row) {
+        digest.update(previous);
+        digest.update(ByteBuffer.allocate(3 * Long.BYTES)
+                .putLong(row.getSeq())
+                .putLong(row.getId())
+                .putLong(ContractStamp.micros(row.getTimestamp()))
+                .array());
+        update(digest, row.getActor());
+        update(digest, row.getAction());
+        update(digest, row.getDetails());
+        return digest.digest();
+    }
+
+    // length-prefixed, so field boundaries cannot be shifted; -1 for null
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes == null ? -1 : bytes.length).array());
+        if (bytes != null) {
+            digest.update(bytes);
+        }
+    }
+
+    // ===== MERKLE =====
+
+    public static String root(List<String> hashes) {
+        List<byte[]> level = leaves(hashes);
+        MessageDigest digest = sha256();
+        while (level.size() > 1) {
+            level = parents(digest, level);
+        }
+        return HEX.formatHex(level.get(0));
+    }
+
+    // Siblings of the leaf at index, bottom up
+    public static List<ProofStep> path(List<String> hashes, int index) {
+        List<byte[]> level = leaves(hashes);
+        MessageDigest digest = sha256();
+        List<ProofStep> path = new ArrayList<>();
+        while (level.size() > 1) {
+            int sibling = index ^ 1;
+            // a last node without a sibling moves up unchanged
+            if (sibling < level.size()) {
+                path.add(new ProofStep(HEX.formatHex(level.get(sibling)), sibling < index));
+            }
+            level = parents(digest, level);
+            index /= 2;
+        }
+        return path;
+    }
+
+    public static String root(String hash, List<ProofStep> path) {
+        MessageDigest digest = sha256();
+        byte[] node = leaf(digest, HEX.parseHex(hash));
+        for (ProofStep step : path) {
+            byte[] sibling = HEX.parseHex(step.getHash());
+            node = step.isLeft() ? node(digest, sibling, node) : node(digest, node, sibling);
+        }
+        return HEX.formatHex(node);
+    }
+
+    private static List<byte[]> leaves(List<String> hashes) {
+        MessageDigest digest = sha256();
+        List<byte[]> leaves = new ArrayList<>(hashes.size());
+        hashes.forEach(h -> leaves.add(leaf(digest, HEX.parseHex(h))));
+        return leaves;
+    }
+
+    private static List<byte[]> parents(MessageDigest digest, List<byte[]> level) {
+        List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i < level.size(); i += 2) {
+            parents.add(i + 1 < level.size() ? node(digest, level.get(i), level.get(i + 1)) : level.get(i));
+        }
+        return parents;
+    }
+
+    private static byte[] leaf(MessageDigest digest, byte[] hash) {
+        digest.update(LEAF);
+        return digest.digest(hash);
+    }
+
+    private static byte[] node(MessageDigest digest, byte[] left, byte[] right) {
+        digest.update(NODE);
+        digest.update(left);
+        return digest.digest(right);
+    }
+}
@@ -0,0 +1,182 @@
+package com.contract.demo.service;
+
+import com.contract.demo.config.AuditChainProperties;
+import com.contract.demo.dto.AuditProof;
+import com.contract.demo.dto.AuditProof.ProofStep;
+import com.contract.demo.dto.AuditVerificationReport;
+import com.contract.demo.dto.AuditVerificationReport.Failure;
+import com.contract.demo.entity.AuditLog;
+import com.contract.demo.repository.AuditChainRepository;
+import com.contract.demo.repository.AuditChainRepository.Checkpoint;
+import com.contract.demo.repository.AuditChainRepository.Head;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks the audit hash chain. Each checkpoint block starts from the
+ * previous checkpoint's last hash, so blocks are independent and are
+ * verified in parallel on a dedicated fork-join pool; records past the last
+ * checkpoint are checked up to the chain head.
+ */
+@Slf4j
+@Service
+public class AuditChainVerifier {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final AuditChain chain;
+    private final AuditChainRepository repository;
+    private final AuditChainProperties properties;
+    private final ForkJoinPool pool;
+
+    public AuditChainVerifier(AuditChain chain, AuditChainRepository repository, AuditChainProperties properties) {
+        this.chain = chain;
+        this.repository = repository;
+        this.properties = properties;
+        this.pool = new ForkJoinPool(properties.getVerifyParallelism() > 0
+                ? properties.getVerifyParallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    // ===== FULL VERIFICATION =====
+
+    public AuditVerificationReport verify() {
+        long start = System.nanoTime();
+
+        Head head = repository.findHead();
+        List<Checkpoint> checkpoints = repository.findCheckpoints();
+
+        List<Range> ranges = new ArrayList<>(checkpoints.size() + 1);
+        List<Failure> failures = new ArrayList<>();
+        long next = 1;
+        String previous = AuditChain.GENESIS;
+        for (Checkpoint c : checkpoints) {
+            if (c.seqFrom() != next) {
+                failures.add(new Failure(next, "checkpoints do not continue at " + next + " but at " + c.seqFrom()));
+            }
+            ranges.add(new Range(c.seqFrom(), c.seqTo(), previous, c.root(), c.lastHash()));
+            next = c.seqTo() + 1;
+            previous = c.lastHash();
+        }
+        if (next <= head.seq()) {
+            ranges.add(new Range(next, head.seq(), previous, null, head.hash()));
+        }
+
+        List<List<Failure>> results;
+        try {
+            results = pool.submit(() -> ranges.parallelStream().map(this::verify).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Audit verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Audit verification failed", e.getCause());
+        }
+        results.forEach(failures::addAll);
+        failures.sort(Comparator.comparingLong(Failure::getSeq));
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        if (!failures.isEmpty()) {
+            log.error("Audit chain verification found {} failures, first at seq {}: {}",
+                    failures.size(), failures.get(0).getSeq(), failures.get(0).getReason());
+        }
+        return new AuditVerificationReport(failures.isEmpty(), head.seq(), checkpoints.size(),
+                failures.size(), List.copyOf(failures.subList(0, Math.min(failures.size(),
+                properties.getMaxReportedFailures()))), elapsedMs);
+    }
+
+    private List<Failure> verify(Range range) {
+        List<Failure> failures = new ArrayList<>();
+        List<AuditLog> rows = chain.records(range.from(), range.to());
+        MessageDigest digest = AuditChain.sha256();
+
+        byte[] previous = HEX.parseHex(range.previousHash());
+        long expected = range.from();
+        for (AuditLog row : rows) {
+            if (row.getSeq() != expected) {
+                failures.add(new Failure(expected, "records " + expected + ".." + (row.getSeq() - 1) + " are missing"));
+                previous = null;
+            }
+            if (row.getHash() == null) {
+                failures.add(new Failure(row.getSeq(), "record " + row.getId() + " has no hash"));
+            } else {
+                if (previous != null && !HEX.formatHex(AuditChain.hash(digest, previous, row)).equals(row.getHash())) {
+                    failures.add(new Failure(row.getSeq(), "record " + row.getId() + " does not match its hash"));
+                }
+                previous = HEX.parseHex(row.getHash());
+            }
+            expected = row.getSeq() + 1;
+        }
+        if (expected <= range.to()) {
+            failures.add(new Failure(expected, "records " + expected + ".." + range.to() + " are missing"));
+            return failures;
+        }
+
+        // a rewritten suffix of the chain links up, but no longer ends where it did
+        if (!range.lastHash().equals(rows.get(rows.size() - 1).getHash())) {
+            failures.add(new Failure(range.to(), range.root() == null
+                    ? "chain head does not match the last record"
+                    : "last hash differs from checkpoint " + range.from() + ".." + range.to()));
+        }
+        if (range.root() != null && failures.isEmpty()
+                && !AuditChain.root(rows.stream().map(AuditLog::getHash).toList()).equals(range.root())) {
+            failures.add(new Failure(range.from(), "Merkle root differs from checkpoint "
+                    + range.from() + ".." + range.to()));
+        }
+        return failures;
+    }
+
+    // A checkpoint block, or the records after the last one (root null)
+    private record Range(long from, long to, String previousHash, String root, String lastHash) {
+    }
+
+    // ===== SINGLE RECORD =====
+
+    /**
+     * Proof that the record at seq is in its checkpoint: the record is hashed
+     * again and its leaf folded up to the root along the sibling path. Only
+     * that record is read in full; the path is built from the stored hashes
+     * of the rest of the block.
+     */
+    public AuditProof prove(long seq) {
+        Checkpoint checkpoint = repository.findCheckpoint(seq)
+                .orElseThrow(() -> new RuntimeException("Audit record " + seq + " is not covered by a checkpoint yet"));
+
+        List<String> hashes = chain.hashes(checkpoint.seqFrom(), checkpoint.seqTo());
+        List<AuditLog> records = chain.records(seq, seq);
+        if (hashes.size() != checkpoint.seqTo() - checkpoint.seqFrom() + 1 || records.isEmpty()) {
+            throw new RuntimeException("Audit records " + checkpoint.seqFrom() + ".." + checkpoint.seqTo()
+                    + " are incomplete; run a full verification");
+        }
+
+        int index = (int) (seq - checkpoint.seqFrom());
+        AuditLog record = records.get(0);
+        String previous = index > 0 ? hashes.get(index - 1) : previousHash(checkpoint);
+        String recordHash = AuditChain.hash(previous, record);
+
+        List<ProofStep> path = AuditChain.path(hashes, index);
+        boolean valid = recordHash.equals(record.getHash())
+                && AuditChain.root(recordHash, path).equals(checkpoint.root());
+
+        return new AuditProof(record, previous, recordHash, checkpoint.seqFrom(), checkpoint.seqTo(),
+                checkpoint.root(), path, valid);
+    }
+
+    private String previousHash(Checkpoint checkpoint) {
+        String previous = repository.findHashBefore(checkpoint.seqFrom());
+        return previous == null ? AuditChain.GENESIS : previous;
+    }
+}
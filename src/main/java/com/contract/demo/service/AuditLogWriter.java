@@ -0,0 +1,194 @@
+package com.contract.demo.service;
+
+import com.contract.demo.config.AuditWriterProperties;
+import com.contract.demo.entity.AuditLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes audit records off the request path. Records are queued once the
+ * business transaction commits and a single background thread inserts them
+ * in JDBC batches, each appended to the {@link AuditChain} in one transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditLogWriter implements SmartLifecycle, MeterBinder {
+
+    // stop after the web server has drained in-flight requests
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final AuditChain chain;
+    private final AuditWriterProperties properties;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private BlockingQueue<AuditLog> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    public void record(String action, String actor, String details) {
+        AuditLog entry = new AuditLog();
+        entry.setAction(action);
+        entry.setActor(actor);
+        entry.setDetails(details);
+        entry.setTimestamp(LocalDateTime.now());
+
+        TransactionCallbacks.afterCommit(() -> enqueue(entry));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.queue.depth", this, AuditLogWriter::queueDepth)
+                .description("Audit records waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("audit.dropped", this, AuditLogWriter::droppedCount)
+                .description("Audit records dropped because the queue was full")
+                .register(registry);
+    }
+
+    public int queueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    private void enqueue(AuditLog entry) {
+        if (!running) {
+            write(List.of(entry));
+            return;
+        }
+
+        boolean queued = switch (properties.getOverflowPolicy()) {
+            case BLOCK -> offer(entry);
+            case CALLER_RUNS, DROP -> queue.offer(entry);
+        };
+        if (queued) {
+            return;
+        }
+
+        if (properties.getOverflowPolicy() == AuditWriterProperties.OverflowPolicy.DROP) {
+            long total = dropped.incrementAndGet();
+            log.warn("Audit queue full, dropped {} {} (total dropped: {})",
+                    entry.getAction(), entry.getDetails(), total);
+            return;
+        }
+        write(List.of(entry));
+    }
+
+    private boolean offer(AuditLog entry) {
+        try {
+            return queue.offer(entry, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // ================= BACKGROUND FLUSH =================
+
+    private void drainLoop() {
+        int flushSize = properties.getFlushSize();
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        List<AuditLog> batch = new ArrayList<>(flushSize);
+        long deadline = 0;
+
+        while (running) {
+            long waitNanos = batch.isEmpty() ? intervalNanos : Math.max(0, deadline - System.nanoTime());
+            AuditLog next;
+            try {
+                next = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            if (next != null) {
+                if (batch.isEmpty()) {
+                    deadline = System.nanoTime() + intervalNanos;
+                }
+                batch.add(next);
+                queue.drainTo(batch, flushSize - batch.size());
+            }
+
+            if (batch.size() >= flushSize || (!batch.isEmpty() && System.nanoTime() >= deadline)) {
+                write(batch);
+                batch.clear();
+            }
+        }
+
+        // shutdown: whatever is still buffered or queued
+        queue.drainTo(batch);
+        while (!batch.isEmpty()) {
+            List<AuditLog> chunk = batch.subList(0, Math.min(flushSize, batch.size()));
+            write(chunk);
+            chunk.clear();
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        try {
+            chain.append(batch);
+        } catch (RuntimeException e) {
+            // keep the trail in the application log rather than losing it silently
+            log.error("Failed to write {} audit records", batch.size(), e);
+            batch.forEach(a -> log.error("Unwritten audit record: {} {} {} {}",
+                    a.getTimestamp(), a.getActor(), a.getAction(), a.getDetails()));
+        }
+    }
+
+    // ================= LIFECYCLE =================
+
+    @Override
+    public void start() {
+        chain.seal();
+
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(properties.getFlushInterval().toMillis() + 30_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // records that raced with shutdown
+        List<AuditLog> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,320 @@
+package com.contract.demo.service;
+
+import com.contract.demo.config.AuditArchiveProperties;
+import com.contract.demo.entity.AuditLog;
+import com.contract.demo.repository.AuditChainRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps audit_logs range-partitioned by month.
+ *
+ * On start a plain audit_logs table (as created by the schema update) is
+ * converted in place, and partitions are created ahead of time. A DEFAULT
+ * partition takes records no month partition covers (a skewed clock, a
+ * missed job) instead of failing the insert; the daily job moves them into a
+ * partition of their own month. The daily job
+ * moves every month older than the retention window to an {@link AuditArchive}
+ * segment and then detaches and drops its partition, so the live table only
+ * ever holds the last few months.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditPartitionManager implements SmartLifecycle {
+
+    // before AuditLogWriter (DEFAULT_PHASE - 4096): the writer must only ever see the partitioned table
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4097;
+
+    private static final String PARTITION_PREFIX = "audit_logs_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern MONTH_PARTITION = Pattern.compile("audit_logs_\\d{4}_\\d{2}");
+    private static final String DEFAULT_PARTITION = "audit_logs_default";
+
+    // one partition creator at a time across nodes
+    private static final long PARTITION_LOCK = 0x61756469745061L;
+
+    // one archiver at a time across nodes
+    private static final long ARCHIVE_LOCK = 0x61756469744c6f67L;
+
+    private static final int ARCHIVE_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditArchive archive;
+    private final AuditChainRepository chainRepository;
+    private final AuditArchiveProperties properties;
+
+    private volatile boolean running;
+
+    // ===== LIFECYCLE =====
+
+    @Override
+    public void start() {
+        List<String> kind = jdbcTemplate.queryForList(
+                "select relkind::text from pg_class where oid = to_regclass('audit_logs')", String.class);
+        if (kind.equals(List.of("r"))) {
+            transactionTemplate.executeWithoutResult(status -> convert());
+        }
+        createPartitions();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // ===== MAINTENANCE =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.archive.cron:0 15 3 * * *}")
+    public void maintain() {
+        createPartitions();
+
+        YearMonth cutoff = YearMonth.now().minusMonths(properties.getRetentionMonths());
+        for (YearMonth month : liveMonths()) {
+            if (month.isBefore(cutoff)) {
+                archive(month);
+            }
+        }
+    }
+
+    // Months that still have a partition, oldest first; the default partition and any other child are skipped
+    public Set<YearMonth> liveMonths() {
+        return jdbcTemplate.queryForList("""
+                select c.relname
+                  from pg_inherits i
+                  join pg_class c on c.oid = i.inhrelid
+                 where i.inhparent = 'audit_logs'::regclass
+                """, String.class).stream()
+                .filter(name -> MONTH_PARTITION.matcher(name).matches())
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private void createPartitions() {
+        createDefaultPartition();
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= properties.getPremakeMonths(); i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        // records that landed in the default partition get a month partition of their own
+        jdbcTemplate.queryForList("select distinct date_trunc('month', timestamp) from " + DEFAULT_PARTITION,
+                LocalDateTime.class).forEach(m -> createPartition(YearMonth.from(m)));
+    }
+
+    private void createDefaultPartition() {
+        jdbcTemplate.execute("create table if not exists " + DEFAULT_PARTITION + " partition of audit_logs default");
+    }
+
+    /**
+     * Creates the month's partition unless it exists. The default partition
+     * may not hold records of a range being attached, so any it has are moved
+     * into the new table first; the default stays locked until the attach
+     * commits, so none can arrive in between.
+     */
+    private void createPartition(YearMonth month) {
+        String table = partition(month);
+        if (exists(table)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("select pg_advisory_xact_lock(?)", PARTITION_LOCK);
+            if (exists(table)) {
+                return;
+            }
+            jdbcTemplate.execute("lock table " + DEFAULT_PARTITION + " in access exclusive mode");
+            jdbcTemplate.execute("create table " + table + " (like audit_logs including defaults)");
+            int moved = jdbcTemplate.update("""
+                    with moved as (
+                        delete from %s where timestamp >= ? and timestamp < ?
+                        returning id, action, actor, details, timestamp, seq, hash
+                    )
+                    insert into %s (id, action, actor, details, timestamp, seq, hash)
+                    select id, action, actor, details, timestamp, seq, hash from moved
+                    """.formatted(DEFAULT_PARTITION, table),
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            jdbcTemplate.execute("alter table audit_logs attach partition " + table
+                    + " for values from ('" + month.atDay(1) + "') to ('" + month.plusMonths(1).atDay(1) + "')");
+            if (moved > 0) {
+                log.warn("Moved {} audit records for {} out of the default partition", moved, month);
+            }
+        });
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null",
+                Boolean.class, table));
+    }
+
+    /**
+     * Writes the month's segment, then detaches and drops its partition, all
+     * under one transaction. If the segment already exists (a previous run
+     * died before the drop, or another node archived the month) it is checked
+     * against the partition instead of being written again.
+     *
+     * The chain head is only locked for the final check and the drop, so
+     * appends do not wait for the segment write. A record chained into the
+     * month in between (a back-dated append, another node sealing) shows in
+     * the check; a segment just written is then discarded and written again
+     * on the next run.
+     */
+    private void archive(YearMonth month) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "select pg_try_advisory_xact_lock(?)", Boolean.class, ARCHIVE_LOCK))) {
+                return;
+            }
+            String table = partition(month);
+
+            // may have been written by another node; the directory is shared
+            AuditArchive.SegmentIndex index = archive.index(month);
+            boolean written = index == null;
+            if (written) {
+                try {
+                    index = writeSegment(month, table);
+                } catch (IllegalStateException e) {
+                    // a segment file without its index: a write that died between the two renames
+                    log.error("Audit segment {} is on disk without an index; leaving partition {} in place",
+                            month, table);
+                    return;
+                }
+            }
+
+            // no record of the month may be chained between this check and the drop
+            chainRepository.lockHead();
+            if (!matches(index, table)) {
+                if (written) {
+                    log.warn("Audit records for {} changed while its segment was written; writing it again next run",
+                            month);
+                    archive.discard(month);
+                } else {
+                    log.error("Audit segment {} does not match partition {}; leaving it in place", month, table);
+                }
+                return;
+            }
+
+            jdbcTemplate.execute("alter table audit_logs detach partition " + table);
+            jdbcTemplate.execute("drop table " + table);
+            log.info("Archived {} audit records for {}", index.count(), month);
+        });
+    }
+
+    // same number of records, chained over the same seq range
+    private boolean matches(AuditArchive.SegmentIndex index, String table) {
+        return jdbcTemplate.queryForObject("select count(*), min(seq), max(seq) from " + table, (rs, n) ->
+                rs.getLong(1) == index.count()
+                        && Objects.equals(rs.getObject(2, Long.class), index.seqFrom())
+                        && Objects.equals(rs.getObject(3, Long.class), index.seqTo()));
+    }
+
+    private AuditArchive.SegmentIndex writeSegment(YearMonth month, String table) {
+        try (AuditArchive.SegmentWriter segment = archive.open(month)) {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "select id, action, actor, details, timestamp, seq, hash from " + table
+                                + " order by timestamp, id");
+                ps.setFetchSize(ARCHIVE_FETCH_SIZE);
+                return ps;
+            }, rs -> {
+                AuditLog row = new AuditLog();
+                row.setId(rs.getLong(1));
+                row.setAction(rs.getString(2));
+                row.setActor(rs.getString(3));
+                row.setDetails(rs.getString(4));
+                row.setTimestamp(rs.getTimestamp(5).toLocalDateTime());
+                row.setSeq(rs.getObject(6, Long.class));
+                row.setHash(rs.getString(7));
+                segment.append(row);
+            });
+            return segment.finish();
+        }
+    }
+
+    // ===== CONVERSION =====
+
+    /**
+     * Replaces a plain audit_logs with a partitioned one holding the same
+     * rows. The id sequence is carried over so ids keep increasing.
+     */
+    private void convert() {
+        jdbcTemplate.execute("lock table audit_logs in access exclusive mode");
+        String sequence = jdbcTemplate.queryForObject("select pg_get_serial_sequence('audit_logs', 'id')", String.class);
+
+        jdbcTemplate.execute("alter table audit_logs rename to audit_logs_legacy");
+        jdbcTemplate.execute("alter sequence " + sequence + " owned by none");
+        jdbcTemplate.execute("""
+                create table audit_logs (
+                    id        bigint        not null default nextval('%s'),
+                    action    varchar(255),
+                    actor     varchar(255),
+                    details   varchar(2000),
+                    timestamp timestamp(6)  not null,
+                    seq       bigint,
+                    hash      varchar(64),
+                    primary key (id, timestamp)
+                ) partition by range (timestamp)
+                """.formatted(sequence));
+        jdbcTemplate.execute("alter sequence " + sequence + " owned by audit_logs.id");
+        createDefaultPartition();
+
+        List<LocalDateTime> months = jdbcTemplate.queryForList(
+                "select distinct date_trunc('month', timestamp) from audit_logs_legacy where timestamp is not null",
+                LocalDateTime.class);
+        months.forEach(m -> createPartition(YearMonth.from(m)));
+        createPartitions();
+
+        // rows never written without a timestamp, but the old column allowed it
+        int copied = jdbcTemplate.update("""
+                insert into audit_logs (id, action, actor, details, timestamp, seq, hash)
+                select id, action, actor, details,
+                       coalesce(timestamp, (select min(timestamp) from audit_logs_legacy), localtimestamp),
+                       seq, hash
+                  from audit_logs_legacy
+                """);
+        jdbcTemplate.execute("drop table audit_logs_legacy");
+
+        // same names as the entity's @Index list, so the schema update leaves them alone
+        jdbcTemplate.execute("create index idx_audit_logs_timestamp on audit_logs (timestamp, id)");
+        jdbcTemplate.execute("create index idx_audit_logs_actor on audit_logs (actor, timestamp, id)");
+        jdbcTemplate.execute("create index idx_audit_logs_action on audit_logs (action, timestamp, id)");
+        jdbcTemplate.execute("create index idx_audit_logs_seq on audit_logs (seq)");
+
+        log.info("Converted audit_logs to monthly partitions ({} records)", copied);
+    }
+
+    private static String partition(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,123 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.AuditExportFormat;
+import com.contract.demo.dto.AuditLogQuery;
+import com.contract.demo.dto.CursorPage;
+import com.contract.demo.dto.PageCursor;
+import com.contract.demo.entity.AuditLog;
+import com.contract.demo.repository.AuditLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AuditQueryService {
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditArchive archive;
+    private final AuditPartitionManager partitionManager;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${audit.query.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${audit.query.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${audit.query.export-fetch-size:1000}")
+    private int exportFetchSize;
+
+    public CursorPage<AuditLog> search(AuditLogQuery query) {
+
+        int size = pageSize(query.getSize());
+
+        PageCursor after = PageCursor.decode(query.getCursor());
+        List<AuditLog> rows = new ArrayList<>(auditLogRepository.findPage(query, after, size + 1));
+
+        // the live partitions ran out before the page filled; archived months are all older
+        if (rows.size() <= size) {
+            try (Stream<AuditLog> archived = archive.read(query, after, partitionManager.liveMonths())) {
+                archived.limit(size + 1 - rows.size()).forEach(rows::add);
+            }
+        }
+
+        return CursorPage.of(rows, size, a -> new PageCursor(a.getTimestamp(), a.getId()));
+    }
+
+    /**
+     * Streams every matching row to the output. Rows are read through a
+     * server-side cursor and detached as they are written, then continue from
+     * the archive block by block, so memory use does not depend on the size
+     * of the result.
+     */
+    public void export(AuditLogQuery query, AuditExportFormat format, OutputStream out) {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        try (Stream<AuditLog> rows = Stream.concat(auditLogRepository.streamMatching(query, exportFetchSize),
+                archive.read(query, null, partitionManager.liveMonths()))) {
+
+            if (format == AuditExportFormat.CSV) {
+                writer.write("id,timestamp,actor,action,details\n");
+            }
+
+            Iterator<AuditLog> it = rows.iterator();
+            while (it.hasNext()) {
+                AuditLog row = it.next();
+                writer.write(format == AuditExportFormat.CSV ? csvLine(row) : objectMapper.writeValueAsString(row));
+                writer.write('\n');
+                entityManager.detach(row);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Audit export failed", e);
+        }
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    private static String csvLine(AuditLog row) {
+        return row.getId() + ","
+                + csv(row.getTimestamp() == null ? null : row.getTimestamp().toString()) + ","
+                + csv(row.getActor()) + ","
+                + csv(row.getAction()) + ","
+                + csv(row.getDetails());
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
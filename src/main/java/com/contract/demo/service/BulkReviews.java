@@ -0,0 +1,42 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.BulkReviewResult;
+import com.contract.demo.dto.ContractState;
+import com.contract.demo.dto.ReviewOutcome;
+import com.contract.demo.repository.ContractRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+final class BulkReviews {
+
+    private BulkReviews() {
+    }
+
+    // One query for the whole batch, keyed by id
+    static Map<Long, ContractState> loadStates(ContractRepository repository, Collection<Long> ids, int maxBatchSize) {
+        if (ids.size() > maxBatchSize) {
+            throw new RuntimeException("Too many contracts in one batch (max " + maxBatchSize + ")");
+        }
+
+        Map<Long, ContractState> byId = new HashMap<>();
+        for (ContractState c : repository.findStatesByIdIn(ids.stream().filter(Objects::nonNull).distinct().toList())) {
+            byId.put(c.getId(), c);
+        }
+        return byId;
+    }
+
+    // slots.get(i) is the result index of the i-th applied change
+    static void markConflicts(List<BulkReviewResult> results, List<Integer> slots, boolean[] applied) {
+        for (int i = 0; i < applied.length; i++) {
+            if (!applied[i]) {
+                int slot = slots.get(i);
+                results.set(slot, BulkReviewResult.failure(results.get(slot).getContractId(),
+                        ReviewOutcome.CONFLICT, "Contract was changed by another review or is claimed by another reviewer"));
+            }
+        }
+    }
+}
@@ -1,16 +1,30 @@
 package com.contract.demo.service;
 
+import com.contract.demo.dto.BulkReviewResult;
 import com.contract.demo.dto.ClientDecisionRequest;
-import com.contract.demo.entity.Contract;
-import com.contract.demo.entity.ContractStatus;
-import com.contract.demo.entity.User;
+import com.contract.demo.dto.ContractDetailResponse;
+import com.contract.demo.dto.ContractInboxQuery;
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.dto.ContractStamp;
+import com.contract.demo.dto.ContractState;
+import com.contract.demo.dto.ContractSummaryResponse;
+import com.contract.demo.dto.ContractSummaryResponse.StatusSummary;
+import com.contract.demo.dto.CursorPage;
+import com.contract.demo.dto.ReviewOutcome;
 import com.contract.demo.repository.ContractRepository;
-import com.contract.demo.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.contract.demo.service.ContractTransitionService.Change;
+import com.contract.demo.service.WorkflowEngine.Transition;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -18,42 +32,118 @@ import java.util.List;
 public class ClientService {
 
     private final ContractRepository contractRepository;
-    private final UserRepository userRepository;
+    private final ContractInboxService inboxService;
+    private final ContractTransitionService transitionService;
+    private final WorkflowEngine workflowEngine;
 
-    public List<Contract> getAssignedContracts(String username) {
-        User client = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Client not found"));
+    @Value("${contracts.review.max-batch-size:500}")
+    private int maxBatchSize;
 
-        return contractRepository.findByClientUser_Id(client.getId());
+    // The client's contracts, a page at a time
+    @Transactional(readOnly = true)
+    public CursorPage<ContractResponse> getAssignedContracts(Long clientUserId, ContractInboxQuery query) {
+        return inboxService.clientInbox(clientUserId, query);
     }
 
-    public Contract review(ClientDecisionRequest request, String username) {
+    @Transactional(readOnly = true)
+    public String getAssignedContractsTag(Long clientUserId, ContractInboxQuery query) {
+        return inboxService.clientInboxTag(clientUserId, query);
+    }
+
+    @Transactional(readOnly = true)
+    public ContractSummaryResponse getSummary(Long clientUserId) {
+
+        List<StatusSummary> statuses = contractRepository.summarizeByClient(clientUserId);
+
+        long count = statuses.stream().mapToLong(StatusSummary::getCount).sum();
+        BigDecimal amount = statuses.stream().map(StatusSummary::getTotalAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return new ContractSummaryResponse(count, amount, statuses, null);
+    }
+
+    @Transactional(readOnly = true)
+    public ContractDetailResponse getContract(Long id, Long clientUserId) {
+        ContractDetailResponse contract = contractRepository.findDetailById(id)
+                .orElseThrow(() -> new RuntimeException("Contract not found"));
 
-        User client = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Client not found"));
+        if (!clientUserId.equals(contract.getClientUserId())) {
+            throw new RuntimeException("Unauthorized: Contract not assigned to you");
+        }
+        return contract;
+    }
 
-        Contract contract = contractRepository.findById(request.getContractId())
+    @Transactional(readOnly = true)
+    public String getContractTag(Long id, Long clientUserId) {
+        ContractStamp stamp = contractRepository.findStampById(id)
+                .orElseThrow(() -> new RuntimeException("Contract not found"));
+
+        if (!clientUserId.equals(stamp.getClientUserId())) {
+            throw new RuntimeException("Unauthorized: Contract not assigned to you");
+        }
+        return stamp.etag();
+    }
+
+    public ContractResponse review(ClientDecisionRequest request, Long clientUserId) {
+
+        ContractState contract = contractRepository.findStateById(request.getContractId())
                 .orElseThrow(() -> new RuntimeException("Contract not found"));
 
         // Authorization check
-        if (!contract.getClientUser().getId().equals(client.getId())) {
+        if (!clientUserId.equals(contract.getClientUserId())) {
             throw new RuntimeException("Unauthorized: Contract not assigned to you");
         }
 
         // Workflow validation
-        if (contract.getStatus() != ContractStatus.FINANCE_APPROVED) {
-            throw new RuntimeException("Contract not ready for client approval");
-        }
+        Transition next = workflowEngine.resolve(contract.getStatus(), "CLIENT", request.isApproved());
+
+        transitionService.apply(new Change(contract, next, clientUserId, null, request.getRemarks()));
+
+        return contractRepository.findResponseById(contract.getId()).orElseThrow();
+    }
+
+    // Review many contracts: one select, one JDBC batch update
+    public List<BulkReviewResult> review(List<ClientDecisionRequest> requests, Long clientUserId) {
+
+        Map<Long, ContractState> contracts = BulkReviews.loadStates(contractRepository,
+                requests.stream().map(ClientDecisionRequest::getContractId).toList(), maxBatchSize);
+
+        List<BulkReviewResult> results = new ArrayList<>(requests.size());
+        List<Change> changes = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (ClientDecisionRequest request : requests) {
+            Long id = request.getContractId();
+            ContractState contract = contracts.get(id);
+
+            if (contract == null) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.NOT_FOUND, "Contract not found"));
+                continue;
+            }
+            if (!seen.add(id)) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.INVALID_STATE, "Duplicate contract in batch"));
+                continue;
+            }
+            if (!clientUserId.equals(contract.getClientUserId())) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.NOT_AUTHORIZED,
+                        "Contract not assigned to you"));
+                continue;
+            }
 
-        contract.setClientRemarks(request.getRemarks());
+            Transition next;
+            try {
+                next = workflowEngine.resolve(contract.getStatus(), "CLIENT", request.isApproved());
+            } catch (InvalidTransitionException e) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.INVALID_STATE, e.getMessage()));
+                continue;
+            }
 
-        if (request.isApproved()) {
-            contract.setStatus(ContractStatus.CLIENT_APPROVED);
-            contract.setStatus(ContractStatus.ACTIVE);
-        } else {
-            contract.setStatus(ContractStatus.CLIENT_REJECTED);
+            slots.add(results.size());
+            changes.add(new Change(contract, next, clientUserId, null, request.getRemarks()));
+            results.add(BulkReviewResult.success(id, next.status()));
         }
 
-        return contractRepository.save(contract);
+        BulkReviews.markConflicts(results, slots, transitionService.applyAll(changes));
+        return results;
     }
 }
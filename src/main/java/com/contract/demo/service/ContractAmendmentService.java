@@ -0,0 +1,202 @@
+package com.contract.demo.service;
+
+import com.contract.demo.config.CustomUserDetails;
+import com.contract.demo.dto.AmendContractRequest;
+import com.contract.demo.dto.ContractAmendmentResponse;
+import com.contract.demo.dto.ContractDiffResponse;
+import com.contract.demo.dto.ContractVersionResponse;
+import com.contract.demo.entity.Contract;
+import com.contract.demo.entity.ContractAmendment;
+import com.contract.demo.entity.ContractBody;
+import com.contract.demo.repository.ContractAmendmentRepository;
+import com.contract.demo.repository.ContractBodyRepository;
+import com.contract.demo.repository.ContractRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contract body history. Version v is stored as a delta against v - 1,
+ * except every snapshotInterval-th version (and any version whose delta
+ * would not be smaller than the text), which is stored in full. Rebuilding
+ * a version therefore applies at most snapshotInterval - 1 deltas. The
+ * latest text is also kept in contract_bodies so reading it is one lookup.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ContractAmendmentService {
+
+    private final ContractRepository contractRepository;
+    private final ContractAmendmentRepository amendmentRepository;
+    private final ContractBodyRepository bodyRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ContractSearchService searchService;
+
+    @Value("${contracts.amendments.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    @Value("${contracts.amendments.max-content-length:200000}")
+    private int maxContentLength;
+
+    public ContractAmendmentResponse amend(Long contractId, AmendContractRequest request) {
+
+        String content = request.getContent();
+        if (content == null) {
+            throw new RuntimeException("Content is required");
+        }
+        if (content.length() > maxContentLength) {
+            throw new RuntimeException("Content exceeds " + maxContentLength + " characters");
+        }
+
+        // the @Version on Contract turns concurrent amendments into an optimistic lock failure
+        Contract contract = contractRepository.findById(contractId)
+                .orElseThrow(() -> new RuntimeException("Contract not found"));
+
+        ContractBody body = bodyRepository.findById(contractId).orElse(null);
+
+        String author = getCurrentUsername();
+        String previous = body == null ? null : body.getContent();
+        int version = contract.getCurrentVersion();
+
+        // text written before amendments existed becomes version 1
+        if (version == 0 && previous != null) {
+            version = 1;
+            amendmentRepository.save(amendment(contractId, version, true, previous, previous.length(),
+                    author, "Initial content"));
+        }
+        if (version > 0 && content.equals(previous)) {
+            throw new RuntimeException("Amendment does not change the contract");
+        }
+
+        int next = version + 1;
+        String delta = isSnapshotVersion(next) ? null : TextDelta.encode(previous, content);
+        boolean snapshot = delta == null || delta.length() >= content.length();
+
+        ContractAmendment saved = amendmentRepository.save(amendment(contractId, next, snapshot,
+                snapshot ? content : delta, content.length(), author, request.getRemarks()));
+
+        if (body == null) {
+            body = new ContractBody();
+            body.setContractId(contractId);
+        }
+        body.setContent(content);
+        body.setContentLength(content.length());
+        bodyRepository.save(body);
+
+        contract.setCurrentVersion(next);
+        searchService.index(contract, content);
+
+        auditLogWriter.record("AMEND_CONTRACT", author,
+                "Contract " + contractId + " -> version " + next + (snapshot ? " (snapshot)" : ""));
+
+        return new ContractAmendmentResponse(saved.getVersion(), saved.isSnapshot(), saved.getContentLength(),
+                saved.getPayload().length(), saved.getAuthor(), saved.getRemarks(), saved.getCreatedAt());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ContractAmendmentResponse> getHistory(Long contractId) {
+        requireContract(contractId);
+        return amendmentRepository.findHistory(contractId);
+    }
+
+    @Transactional(readOnly = true)
+    public ContractVersionResponse getVersion(Long contractId, int version) {
+        return new ContractVersionResponse(contractId, version, reconstruct(contractId, version));
+    }
+
+    @Transactional(readOnly = true)
+    public ContractDiffResponse diff(Long contractId, int fromVersion, int toVersion) {
+
+        String from = reconstruct(contractId, fromVersion);
+        String to = reconstruct(contractId, toVersion);
+
+        List<ContractDiffResponse.Line> changes = new ArrayList<>();
+        List<TextDelta.Edit> edits = TextDelta.diff(from, to);
+
+        if (edits == null) {
+            // too different to align line by line: report a full replacement
+            List<String> removed = TextDelta.lines(from);
+            List<String> added = TextDelta.lines(to);
+            for (int i = 0; i < removed.size(); i++) {
+                changes.add(new ContractDiffResponse.Line("REMOVED", i + 1, null, removed.get(i)));
+            }
+            for (int i = 0; i < added.size(); i++) {
+                changes.add(new ContractDiffResponse.Line("ADDED", null, i + 1, added.get(i)));
+            }
+        } else {
+            for (TextDelta.Edit e : edits) {
+                if (e.type() != TextDelta.Type.EQUAL) {
+                    changes.add(new ContractDiffResponse.Line(
+                            e.type() == TextDelta.Type.INSERT ? "ADDED" : "REMOVED",
+                            e.oldLine(), e.newLine(), e.text()));
+                }
+            }
+        }
+
+        return new ContractDiffResponse(contractId, fromVersion, toVersion, changes);
+    }
+
+    // ===== RECONSTRUCTION =====
+
+    private String reconstruct(Long contractId, int version) {
+
+        Contract contract = requireContract(contractId);
+        int current = contract.getCurrentVersion();
+
+        if (version < 1 || version > current) {
+            throw new RuntimeException("Version " + version + " not found");
+        }
+        if (version == current) {
+            return bodyRepository.findById(contractId).map(ContractBody::getContent).orElseThrow();
+        }
+
+        ContractAmendment base = amendmentRepository
+                .findFirstByContractIdAndSnapshotTrueAndVersionLessThanEqualOrderByVersionDesc(contractId, version)
+                .orElseThrow(() -> new RuntimeException("No snapshot for version " + version));
+
+        String text = base.getPayload();
+        if (base.getVersion() == version) {
+            return text;
+        }
+
+        for (ContractAmendment a : amendmentRepository
+                .findByContractIdAndVersionBetweenOrderByVersionAsc(contractId, base.getVersion() + 1, version)) {
+            text = a.isSnapshot() ? a.getPayload() : TextDelta.apply(text, a.getPayload());
+        }
+        return text;
+    }
+
+    private boolean isSnapshotVersion(int version) {
+        return version == 1 || (version - 1) % snapshotInterval == 0;
+    }
+
+    private Contract requireContract(Long contractId) {
+        return contractRepository.findById(contractId)
+                .orElseThrow(() -> new RuntimeException("Contract not found"));
+    }
+
+    private static ContractAmendment amendment(Long contractId, int version, boolean snapshot, String payload,
+                                               int contentLength, String author, String remarks) {
+        ContractAmendment a = new ContractAmendment();
+        a.setContractId(contractId);
+        a.setVersion(version);
+        a.setSnapshot(snapshot);
+        a.setPayload(payload);
+        a.setContentLength(contentLength);
+        a.setAuthor(author);
+        a.setRemarks(remarks);
+        return a;
+    }
+
+    private String getCurrentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ((CustomUserDetails) auth.getPrincipal()).getUsername();
+    }
+}
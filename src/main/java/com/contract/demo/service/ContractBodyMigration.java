@@ -0,0 +1,129 @@
+package com.contract.demo.service;
+
+import com.contract.demo.entity.DeflateTextConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves the legacy contracts.content column into contract_bodies. Every
+ * node copies at startup, batch by batch; bodies already copied are kept,
+ * so concurrent or repeated runs are harmless. Nodes still on the old
+ * version map the column, so it is only dropped when
+ * contracts.body-migration.drop-legacy-column is set after the rollout.
+ * Does nothing when the column is already gone.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContractBodyMigration implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    // "contBody": one node drops the column; the others wait and find it gone
+    private static final long DROP_LOCK = 0x636f6e74426f6479L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${contracts.body-migration.drop-legacy-column:false}")
+    private boolean dropLegacyColumn;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!legacyColumnExists()) {
+            return;
+        }
+
+        int copied;
+        try {
+            copied = copy();
+        } catch (DataAccessException e) {
+            // another node dropped the column between the check and the copy
+            if (!legacyColumnExists()) {
+                return;
+            }
+            throw e;
+        }
+        log.info("Copied {} contract bodies out of the contracts table", copied);
+
+        if (dropLegacyColumn) {
+            dropLegacyColumn();
+        }
+    }
+
+    /**
+     * Copies the rest (written by old nodes since the last run) and drops
+     * the column in one transaction, so no body written in between is lost.
+     */
+    private void dropLegacyColumn() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("select pg_advisory_xact_lock(?)", DROP_LOCK);
+            if (!legacyColumnExists()) {
+                return;
+            }
+            jdbcTemplate.execute("lock table contracts in access exclusive mode");
+            Batch batch = new Batch(0, 0);
+            do {
+                batch = copyBatch(batch.lastId());
+            } while (batch.copied() > 0);
+            jdbcTemplate.execute("alter table contracts drop column content");
+            log.info("Dropped the legacy contracts.content column");
+        });
+    }
+
+    // one transaction per batch, so a large table never holds one long transaction
+    private int copy() {
+        int copied = 0;
+        Batch batch = new Batch(0, 0);
+        do {
+            long after = batch.lastId();
+            batch = transactionTemplate.execute(status -> copyBatch(after));
+            copied += batch.copied();
+        } while (batch.copied() > 0);
+        return copied;
+    }
+
+    private Batch copyBatch(long lastId) {
+        DeflateTextConverter converter = new DeflateTextConverter();
+
+        List<Object[]> rows = jdbcTemplate.query("""
+                select c.id, c.content from contracts c
+                 where c.content is not null and c.id > ?
+                   and not exists (select 1 from contract_bodies b where b.contract_id = c.id)
+                 order by c.id
+                 limit ?
+                """, (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2)}, lastId, BATCH_SIZE);
+        if (rows.isEmpty()) {
+            return new Batch(0, lastId);
+        }
+
+        jdbcTemplate.batchUpdate("""
+                insert into contract_bodies (contract_id, content, content_length)
+                values (?, ?, ?)
+                on conflict (contract_id) do nothing
+                """, rows.stream().map(r -> new Object[]{
+                r[0], converter.convertToDatabaseColumn((String) r[1]), ((String) r[1]).length()}).toList());
+
+        return new Batch(rows.size(), (Long) rows.get(rows.size() - 1)[0]);
+    }
+
+    private boolean legacyColumnExists() {
+        Integer legacy = jdbcTemplate.queryForObject("""
+                select count(*) from information_schema.columns
+                 where table_schema = current_schema() and table_name = 'contracts' and column_name = 'content'
+                """, Integer.class);
+        return legacy != null && legacy > 0;
+    }
+
+    private record Batch(int copied, long lastId) {
+    }
+}
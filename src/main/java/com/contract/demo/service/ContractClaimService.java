@@ -0,0 +1,67 @@
+package com.contract.demo.service;
+
+import com.contract.demo.config.ContractClaimProperties;
+import com.contract.demo.dto.ContractClaimResponse;
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.repository.ContractClaimRepository;
+import com.contract.demo.repository.ContractRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Work queue for reviewers. Instead of everyone picking from the same inbox,
+ * a reviewer claims the next contracts waiting for their role and holds them
+ * for a lease; the claim skips rows another reviewer is claiming at the same
+ * moment, so concurrent claims never block or hand out the same contract.
+ *
+ * A lease ends when the contract is reviewed (every transition releases it),
+ * when the reviewer releases it, or when it expires. While it lasts, other
+ * reviewers' transitions of the contract fail as conflicts.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ContractClaimService {
+
+    private final ContractClaimRepository claimRepository;
+    private final ContractRepository contractRepository;
+    private final WorkflowEngine workflowEngine;
+    private final ContractClaimProperties properties;
+    private final MeterRegistry registry;
+
+    public ContractClaimResponse claim(String role, Long reviewerId, Integer count) {
+        int limit = count == null ? 1 : count;
+        if (limit < 1 || limit > properties.getMaxCount()) {
+            throw new RuntimeException("Claim count must be between 1 and " + properties.getMaxCount());
+        }
+
+        // the columns keep microseconds; the expiry returned is the one stored
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime expiresAt = now.plus(properties.getLease());
+        List<Long> ids = claimRepository.claim(role, workflowEngine.pending(role), reviewerId, now, expiresAt, limit);
+
+        TransactionCallbacks.afterCommit(() ->
+                registry.counter("contracts.claimed", "role", role).increment(ids.size()));
+
+        if (ids.isEmpty()) {
+            return new ContractClaimResponse(List.of(), null);
+        }
+        List<ContractResponse> contracts = contractRepository.findResponsesByIdIn(ids).stream()
+                .sorted(Comparator.comparing(ContractResponse::getUpdatedAt).thenComparing(ContractResponse::getId))
+                .toList();
+        return new ContractClaimResponse(contracts, expiresAt);
+    }
+
+    public void release(Long contractId, Long reviewerId) {
+        if (!claimRepository.release(contractId, reviewerId)) {
+            throw new RuntimeException("Contract " + contractId + " is not claimed by you");
+        }
+    }
+}
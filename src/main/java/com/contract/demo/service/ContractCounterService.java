@@ -0,0 +1,308 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractSummaryResponse;
+import com.contract.demo.dto.ContractSummaryResponse.StatusSummary;
+import com.contract.demo.entity.ContractStatus;
+import com.contract.demo.repository.ContractCounterRepository;
+import com.contract.demo.repository.ContractCounterRepository.Delta;
+import com.contract.demo.service.ContractTransitionService.Change;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Contract counts and amounts per status and assigned role. Every create and
+ * transition adds its delta to contract_counters in the same transaction;
+ * after commit the same delta goes to an in-memory mirror that serves reads.
+ *
+ * A scheduled reconciliation counts contracts and reads the counters in one
+ * REPEATABLE READ snapshot, writes the difference (if any drift) to a slot
+ * only reconciliation uses, and reloads the mirror from that snapshot. It
+ * takes no table lock; transitions keep running meanwhile. Deltas the
+ * snapshot did not see yet (by transaction id) are replayed onto the new
+ * mirror, those it did see are not applied twice.
+ */
+@Slf4j
+@Service
+public class ContractCounterService {
+
+    private static final String NO_ROLE = "NONE";
+
+    // written only by reconciliation, so two nodes reconciling at once conflict instead of both correcting
+    private static final int RECONCILE_SLOT = -1;
+
+    private static final Comparator<Delta> LOCK_ORDER = Comparator
+            .comparing((Delta d) -> d.status().name())
+            .thenComparing(d -> Objects.toString(d.assignedRole(), ""));
+
+    private final ContractCounterRepository counterRepository;
+    private final TransactionTemplate snapshotTemplate;
+
+    @Value("${contracts.counters.slots:8}")
+    private int slots;
+
+    // read: a committed delta is applied; write: the mirror is swapped
+    private final ReadWriteLock mirrorLock = new ReentrantReadWriteLock();
+
+    private volatile Mirror mirror = new Mirror(new ConcurrentHashMap<>(), null, Snapshot.NONE);
+
+    // deltas committed while a reconciliation runs, or null
+    private Queue<Committed> captured;
+
+    public ContractCounterService(ContractCounterRepository counterRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // ===== WRITES (inside the caller's transaction) =====
+
+    public void created(ContractStatus status, String assignedRole, BigDecimal amount) {
+        record(List.of(new Delta(status, assignedRole, 1, amountOf(amount))));
+    }
+
+    // Several contracts created in the same status and role, e.g. by an import
+    public void created(ContractStatus status, String assignedRole, long count, BigDecimal totalAmount) {
+        if (count > 0) {
+            record(List.of(new Delta(status, assignedRole, count, amountOf(totalAmount))));
+        }
+    }
+
+    // Only pass the changes that were actually applied
+    public void moved(List<Change> applied) {
+        Map<Key, Delta> merged = new TreeMap<>();
+        for (Change c : applied) {
+            BigDecimal amount = amountOf(c.from().getContractAmount());
+            merge(merged, new Delta(c.from().getStatus(), c.from().getAssignedRole(), -1, amount.negate()));
+            merge(merged, new Delta(c.to().status(), c.to().assignedRole(), 1, amount));
+        }
+        record(merged.values().stream().filter(d -> d.count() != 0 || d.amount().signum() != 0).toList());
+    }
+
+    // ===== READS =====
+
+    public ContractSummaryResponse summary() {
+
+        Mirror current = mirror;
+        Map<ContractStatus, StatusSummary> byStatus = new EnumMap<>(ContractStatus.class);
+        long totalCount = 0;
+        long totalCents = 0;
+
+        for (Map.Entry<Key, Cell> e : current.cells().entrySet()) {
+            long count = e.getValue().count.sum();
+            long cents = e.getValue().cents.sum();
+            if (count == 0) {
+                continue;
+            }
+
+            StatusSummary s = byStatus.computeIfAbsent(e.getKey().status(),
+                    st -> new StatusSummary(st, 0, BigDecimal.ZERO, new TreeMap<>()));
+            s.setCount(s.getCount() + count);
+            s.setTotalAmount(s.getTotalAmount().add(BigDecimal.valueOf(cents, 2)));
+            s.getCountByRole().merge(Objects.requireNonNullElse(e.getKey().assignedRole(), NO_ROLE), count, Long::sum);
+
+            totalCount += count;
+            totalCents += cents;
+        }
+
+        return new ContractSummaryResponse(totalCount, BigDecimal.valueOf(totalCents, 2),
+                new ArrayList<>(byStatus.values()), current.reconciledAt());
+    }
+
+    // ===== RECONCILIATION =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${contracts.counters.reconcile-interval-ms:300000}",
+            fixedDelayString = "${contracts.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+
+        mirrorLock.writeLock().lock();
+        try {
+            captured = new ConcurrentLinkedQueue<>();
+        } finally {
+            mirrorLock.writeLock().unlock();
+        }
+
+        Reconciliation result;
+        try {
+            result = snapshotTemplate.execute(status -> {
+                Snapshot snapshot = Snapshot.parse(counterRepository.currentSnapshot());
+                List<Delta> truth = counterRepository.countContracts();
+                List<Delta> drift = difference(truth, counterRepository.findTotals());
+                if (!drift.isEmpty()) {
+                    counterRepository.add(drift, RECONCILE_SLOT);
+                }
+                return new Reconciliation(snapshot, truth, drift.size());
+            });
+        } catch (ConcurrencyFailureException e) {
+            log.info("Contract counters are being reconciled elsewhere; skipping this run");
+            stopCapture();
+            return;
+        } catch (RuntimeException e) {
+            stopCapture();
+            throw e;
+        }
+
+        Map<Key, Cell> cells = new ConcurrentHashMap<>();
+        apply(cells, result.truth());
+
+        mirrorLock.writeLock().lock();
+        try {
+            for (Committed c : captured) {
+                if (!result.snapshot().sees(c.xid())) {
+                    apply(cells, c.deltas());
+                }
+            }
+            mirror = new Mirror(cells, LocalDateTime.now(), result.snapshot());
+            captured = null;
+        } finally {
+            mirrorLock.writeLock().unlock();
+        }
+
+        if (result.corrected() > 0) {
+            log.warn("Contract counters drifted from the contracts table; corrected {} keys", result.corrected());
+        }
+    }
+
+    private void stopCapture() {
+        mirrorLock.writeLock().lock();
+        try {
+            captured = null;
+        } finally {
+            mirrorLock.writeLock().unlock();
+        }
+    }
+
+    // ===== INTERNALS =====
+
+    private void record(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Delta> ordered = deltas.stream().sorted(LOCK_ORDER).toList();
+        long xid = counterRepository.add(ordered, ThreadLocalRandom.current().nextInt(slots));
+
+        TransactionCallbacks.afterCommit(() -> committed(new Committed(xid, ordered)));
+    }
+
+    private void committed(Committed c) {
+        mirrorLock.readLock().lock();
+        try {
+            Mirror current = mirror;
+            // a reconciliation that saw this transaction already counted it
+            if (!current.snapshot().sees(c.xid())) {
+                apply(current.cells(), c.deltas());
+            }
+            Queue<Committed> pending = captured;
+            if (pending != null) {
+                pending.add(c);
+            }
+        } finally {
+            mirrorLock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Map<Key, Cell> cells, List<Delta> deltas) {
+        for (Delta d : deltas) {
+            cells.computeIfAbsent(new Key(d.status(), d.assignedRole()), k -> new Cell()).add(d);
+        }
+    }
+
+    // expected - actual, per key; empty when they agree
+    private static List<Delta> difference(List<Delta> expected, List<Delta> actual) {
+        Map<Key, Delta> diff = new TreeMap<>();
+        expected.forEach(d -> merge(diff, d));
+        actual.forEach(d -> merge(diff, new Delta(d.status(), d.assignedRole(), -d.count(), d.amount().negate())));
+        return diff.values().stream().filter(d -> d.count() != 0 || d.amount().signum() != 0).toList();
+    }
+
+    private static void merge(Map<Key, Delta> merged, Delta d) {
+        merged.merge(new Key(d.status(), d.assignedRole()), d, (a, b) ->
+                new Delta(a.status(), a.assignedRole(), a.count() + b.count(), a.amount().add(b.amount())));
+    }
+
+    // contract_amount is numeric(15, 2); the cents in the mirror must be exact
+    private static BigDecimal amountOf(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record Key(ContractStatus status, String assignedRole) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key o) {
+            int c = status.compareTo(o.status);
+            return c != 0 ? c : Objects.toString(assignedRole, "").compareTo(Objects.toString(o.assignedRole, ""));
+        }
+    }
+
+    // amounts are kept in cents so they can live in a LongAdder
+    private static final class Cell {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder cents = new LongAdder();
+
+        void add(Delta d) {
+            count.add(d.count());
+            cents.add(d.amount().movePointRight(2).longValueExact());
+        }
+    }
+
+    private record Mirror(Map<Key, Cell> cells, LocalDateTime reconciledAt, Snapshot snapshot) {
+    }
+
+    private record Committed(long xid, List<Delta> deltas) {
+    }
+
+    private record Reconciliation(Snapshot snapshot, List<Delta> truth, int corrected) {
+    }
+
+    /**
+     * A PostgreSQL snapshot (xmin:xmax:xip_list). For a committed transaction,
+     * whether its changes were visible to the snapshot.
+     */
+    record Snapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+        static final Snapshot NONE = new Snapshot(0, 0, Set.of());
+
+        static Snapshot parse(String text) {
+            String[] parts = text.split(":", -1);
+            Set<Long> inProgress = parts[2].isEmpty() ? Set.of() : Arrays.stream(parts[2].split(","))
+                    .map(Long::valueOf)
+                    .collect(Collectors.toUnmodifiableSet());
+            return new Snapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+        }
+
+        boolean sees(long xid) {
+            return xid < xmin || (xid < xmax && !inProgress.contains(xid));
+        }
+    }
+}
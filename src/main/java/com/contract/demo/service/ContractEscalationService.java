@@ -0,0 +1,100 @@
+package com.contract.demo.service;
+
+import com.contract.demo.config.ContractEscalationProperties;
+import com.contract.demo.entity.ContractStatus;
+import com.contract.demo.repository.ContractEscalationRepository;
+import com.contract.demo.repository.ContractEscalationRepository.Overdue;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escalates contracts that have waited in a status longer than its SLA
+ * (contracts.escalation.sla). Each status is swept in keyset order of
+ * (stage_entered_at, id); a page is claimed with SKIP LOCKED, stamped
+ * escalated_at, audited and published as an ESCALATED event in one
+ * transaction. Several nodes can sweep at once without escalating a
+ * contract twice.
+ *
+ * A contract is escalated once per stage: the next transition clears
+ * escalated_at and restarts the clock; amendments do not.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContractEscalationService {
+
+    private final ContractEscalationRepository escalationRepository;
+    private final ContractEventOutbox eventOutbox;
+    private final AuditLogWriter auditLogWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ContractEscalationProperties properties;
+    private final MeterRegistry registry;
+
+    @Scheduled(fixedDelayString = "${contracts.escalation.interval-ms:60000}",
+            initialDelayString = "${contracts.escalation.interval-ms:60000}")
+    public void sweep() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<ContractStatus, Duration> sla : properties.getSla().entrySet()) {
+            try {
+                int escalated = sweep(sla.getKey(), now.minus(sla.getValue()), now);
+                if (escalated > 0) {
+                    log.info("Escalated {} contracts overdue in {}", escalated, sla.getKey());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Escalation sweep of {} failed; it resumes on the next run", sla.getKey(), e);
+            }
+        }
+    }
+
+    private int sweep(ContractStatus status, LocalDateTime cutoff, LocalDateTime now) {
+        int total = 0;
+        Overdue cursor = null;
+        List<Overdue> page;
+        do {
+            Overdue after = cursor;
+            page = transactionTemplate.execute(tx -> {
+                List<Overdue> overdue = escalationRepository.lockOverdue(status, cutoff, after,
+                        properties.getBatchSize());
+                if (!overdue.isEmpty()) {
+                    escalate(overdue, now);
+                }
+                return overdue;
+            });
+            if (page.isEmpty()) {
+                break;
+            }
+            cursor = page.get(page.size() - 1);
+            total += page.size();
+        } while (page.size() == properties.getBatchSize());
+
+        return total;
+    }
+
+    // ===== ACTIONS (inside the page's transaction) =====
+
+    private void escalate(List<Overdue> overdue, LocalDateTime now) {
+        escalationRepository.markEscalated(overdue.stream().map(Overdue::id).toList(), now);
+        eventOutbox.recordEscalated(overdue);
+
+        for (Overdue o : overdue) {
+            auditLogWriter.record("ESCALATE", "system", "Contract " + o.id() + " waiting in " + o.status()
+                    + " (" + o.assignedRole() + ") since " + o.stageEnteredAt());
+        }
+
+        ContractStatus status = overdue.get(0).status();
+        TransactionCallbacks.afterCommit(() ->
+                registry.counter("contracts.escalated", "status", status.name()).increment(overdue.size()));
+    }
+}
@@ -0,0 +1,177 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractStatusEvent;
+import com.contract.demo.repository.ContractEventRepository;
+import com.contract.demo.repository.ContractEventRepository.Relayed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Delivers relayed contract events to the {@link ContractEventListener}s of
+ * this node. The events themselves are read from contract_events, after the
+ * position this node has consumed up to; a PostgreSQL NOTIFY, sent by the
+ * relay and delivered when its transaction commits, only says that there
+ * are new ones.
+ *
+ * Each node listens on one dedicated connection to the primary, outside the
+ * pool, and runs its listeners on that connection's thread. No database lock
+ * is held while they run. After every batch the position is saved under
+ * contracts.events.node-id, so when the connection drops or the node
+ * restarts it reads what it missed on reconnect: delivery is at least once,
+ * and an event handed out just before a crash comes again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContractEventChannel implements SmartLifecycle {
+
+    static final String CHANNEL = "contract_events";
+
+    // stop after the web server has drained in-flight requests
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    // how often the listening thread wakes up to check for shutdown
+    private static final int POLL_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final ContractEventRepository eventRepository;
+    private final DataSourceProperties dataSource;
+    private final List<ContractEventListener> listeners;
+
+    // must stay the same across restarts, and differ between nodes; blank for the host name
+    @Value("${contracts.events.node-id:}")
+    private String nodeId;
+
+    @Value("${contracts.events.relay-batch-size:200}")
+    private int batchSize;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    // last seq handed to the listeners; only touched on the worker thread
+    private Long position;
+
+    // ===== PUBLISH (inside the relay's transaction) =====
+
+    public void wakeUp() {
+        eventRepository.notify(CHANNEL, List.of(""));
+    }
+
+    // ===== LISTEN =====
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + CHANNEL);
+                }
+                // whatever was relayed while this node was not listening
+                deliver();
+
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        deliver();
+                    }
+                }
+            } catch (SQLException | DataAccessException e) {
+                if (running) {
+                    log.warn("Contract event channel lost; reconnecting in {} ms", RECONNECT_DELAY_MILLIS, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void deliver() {
+        if (position == null) {
+            // a node seen for the first time starts with what is relayed from now on
+            position = eventRepository.findPosition(nodeId).orElseGet(eventRepository::lastSeq);
+        }
+        List<Relayed> batch;
+        do {
+            batch = eventRepository.findRelayedAfter(position, batchSize);
+            for (Relayed relayed : batch) {
+                dispatch(relayed.event());
+                position = relayed.seq();
+            }
+            eventRepository.savePosition(nodeId, position);
+        } while (batch.size() == batchSize && running);
+    }
+
+    private void dispatch(ContractStatusEvent event) {
+        for (ContractEventListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("Contract event listener {} failed on event {}", listener.getClass().getSimpleName(),
+                        event.getId(), e);
+            }
+        }
+    }
+
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    // ================= LIFECYCLE =================
+
+    @Override
+    public void start() {
+        if (nodeId == null || nodeId.isBlank()) {
+            try {
+                nodeId = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                throw new IllegalStateException("Set contracts.events.node-id; the host name is unknown", e);
+            }
+        }
+        running = true;
+        worker = new Thread(this::listenLoop, "contract-event-channel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(POLL_MILLIS * 4L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
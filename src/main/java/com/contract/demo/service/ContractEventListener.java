@@ -0,0 +1,16 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractStatusEvent;
+
+/**
+ * In-process subscriber to contract status changes; every bean implementing
+ * it, on every node, receives each relayed event once the relay has
+ * committed. Delivery is at least once: a node that was disconnected or
+ * restarted catches up from its saved position, and may repeat the events
+ * it handed out just before it went down. A listener that throws just loses
+ * that event.
+ */
+public interface ContractEventListener {
+
+    void onEvent(ContractStatusEvent event);
+}
@@ -0,0 +1,112 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractStatusEvent;
+import com.contract.demo.dto.ContractStatusEvent.Kind;
+import com.contract.demo.repository.ContractEscalationRepository.Overdue;
+import com.contract.demo.repository.ContractEventRepository;
+import com.contract.demo.service.ContractTransitionService.Change;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Status change outbox. Transitions append their events in their own
+ * transaction, so an event exists exactly when its change committed. The
+ * relay numbers new events in the order they are to be read and wakes the
+ * {@link ContractEventChannel} on every node, which reads them from the
+ * table. Events stay until every node has consumed them, or the retention
+ * has passed.
+ *
+ * Every node runs the relay; an advisory lock lets one of them at a time
+ * through, and the others skip the round.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContractEventOutbox {
+
+    private final ContractEventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ContractEventChannel channel;
+
+    // "evtRelay"
+    private static final long RELAY_LOCK = 0x65767452656c6179L;
+
+    @Value("${contracts.events.relay-batch-size:200}")
+    private int batchSize;
+
+    // how long a relayed event is kept for a node that stopped consuming
+    @Value("${contracts.events.retention:7d}")
+    private Duration retention;
+
+    // ===== WRITES (inside the caller's transaction) =====
+
+    // Only pass the changes that were actually applied
+    public void record(List<Change> applied) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        eventRepository.append(applied.stream()
+                .map(c -> new ContractStatusEvent(null, Kind.STATUS_CHANGED, c.from().getId(),
+                        c.from().getStatus(), c.to().status(), c.from().getAssignedRole(), c.to().assignedRole(),
+                        c.from().getClientUserId(), null))
+                .toList());
+    }
+
+    // Contracts the escalation sweep found overdue; status and role are unchanged
+    public void recordEscalated(List<Overdue> overdue) {
+        if (overdue.isEmpty()) {
+            return;
+        }
+        eventRepository.append(overdue.stream()
+                .map(o -> new ContractStatusEvent(null, Kind.ESCALATED, o.id(), o.status(), o.status(),
+                        o.assignedRole(), o.assignedRole(), o.clientUserId(), null))
+                .toList());
+    }
+
+    // ===== RELAY =====
+
+    @Scheduled(fixedDelayString = "${contracts.events.relay-interval-ms:200}")
+    public void relay() {
+        try {
+            // keep going while batches come back full
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Contract event relay failed; the batch will be retried", e);
+        }
+    }
+
+    private int relayBatch() {
+        return transactionTemplate.execute(status -> {
+            if (!eventRepository.tryLockRelay(RELAY_LOCK)) {
+                return 0;
+            }
+            int sequenced = eventRepository.sequence(batchSize);
+            if (sequenced > 0) {
+                channel.wakeUp();
+            }
+            return sequenced;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${contracts.events.prune-interval-ms:60000}")
+    public void prune() {
+        try {
+            int deleted = eventRepository.deleteConsumed(retention);
+            if (deleted > 0) {
+                log.debug("Pruned {} consumed contract events", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Contract event prune failed", e);
+        }
+    }
+}
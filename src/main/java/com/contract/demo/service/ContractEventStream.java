@@ -0,0 +1,95 @@
+package com.contract.demo.service;
+
+import com.contract.demo.config.CustomUserDetails;
+import com.contract.demo.dto.ContractStatusEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Server-Sent Events fan-out of relayed status changes. Each subscriber only
+ * gets the events it could see by polling: a client the changes to its own
+ * contracts, a reviewer the changes that move contracts into or out of one
+ * of its roles' inboxes, a super admin everything.
+ *
+ * Sends run on the event channel's thread, after the relay has committed; a
+ * subscriber whose connection is gone is dropped. A periodic comment line finds dead connections between events.
+ */
+@Slf4j
+@Component
+public class ContractEventStream implements ContractEventListener {
+
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final long timeoutMillis;
+
+    public ContractEventStream(@Value("${contracts.events.sse-timeout:30m}") Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribe(CustomUserDetails user) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, user.getId(), user.getRoles());
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public void onEvent(ContractStatusEvent event) {
+        for (Subscriber s : subscribers) {
+            if (s.sees(event)) {
+                send(s, SseEmitter.event()
+                        .id(event.getId().toString())
+                        .name(event.getKind() == ContractStatusEvent.Kind.ESCALATED
+                                ? "contract-escalated" : "contract-status")
+                        .data(event));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${contracts.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber s : subscribers) {
+            send(s, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void send(Subscriber s, SseEmitter.SseEventBuilder event) {
+        try {
+            s.emitter().send(event);
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(s);
+            s.emitter().completeWithError(e);
+            log.debug("Dropped contract event subscriber {}", s.userId(), e);
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, Long userId, Set<String> roles) {
+
+        boolean sees(ContractStatusEvent e) {
+            if (roles.contains("SUPER_ADMIN")) {
+                return true;
+            }
+            if (roles.contains("CLIENT") && Objects.equals(e.getClientUserId(), userId)) {
+                return true;
+            }
+            // a client's stage holds every client's contracts; clients only match by user above
+            return reviews(e.getFromRole()) || reviews(e.getToRole());
+        }
+
+        private boolean reviews(String role) {
+            return role != null && !role.equals("CLIENT") && roles.contains(role);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractImportFormat;
+import com.contract.demo.dto.ContractImportResponse;
+import com.contract.demo.dto.ContractImportResponse.ContractImportStatus;
+import com.contract.demo.dto.ContractImportResponse.RowError;
+import com.contract.demo.dto.ContractSearchDocument;
+import com.contract.demo.dto.CreateContractRequest;
+import com.contract.demo.repository.ContractImportRepository;
+import com.contract.demo.repository.ContractImportRepository.NewContract;
+import com.contract.demo.service.WorkflowEngine.Transition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk contract import from a CSV or NDJSON stream.
+ *
+ * The body is read a line at a time and never held in memory. Valid rows are
+ * collected into chunks; each chunk is committed in its own transaction
+ * together with its rejected rows and the checkpoint (the last input line it
+ * covers). An interrupted upload is resumed by sending the same file again
+ * with the import id: lines up to the checkpoint are skipped.
+ *
+ * CSV fields may be quoted ("" escapes a quote) but a record cannot span lines.
+ */
+@Service
+@RequiredArgsConstructor
+public class ContractImportService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    // contracts.contract_amount is numeric(15, 2)
+    private static final int AMOUNT_SCALE = 2;
+    private static final int AMOUNT_INTEGER_DIGITS = 13;
+
+    private final ContractImportRepository importRepository;
+    private final ContractSearchService searchService;
+    private final ContractCounterService counterService;
+    private final WorkflowEngine workflowEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    // rows (imported or rejected) per transaction
+    @Value("${contracts.import.chunk-size:5000}")
+    private int chunkSize;
+
+    // rows per JDBC batch inside a chunk
+    @Value("${contracts.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${contracts.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ContractImportResponse importContracts(InputStream body, ContractImportFormat format,
+                                                  String importId, String username) {
+
+        ContractImportResponse state;
+        if (importId == null || importId.isBlank()) {
+            importId = UUID.randomUUID().toString();
+            importRepository.create(importId, format, username);
+            state = importRepository.find(importId).orElseThrow();
+        } else {
+            String id = importId;
+            state = importRepository.find(id).orElseThrow(() -> new RuntimeException("Import not found: " + id));
+            if (state.getFormat() != format) {
+                throw new RuntimeException("Import " + id + " was started as " + state.getFormat());
+            }
+            if (state.getStatus() == ContractImportStatus.COMPLETED) {
+                throw new RuntimeException("Import " + id + " is already completed");
+            }
+        }
+
+        Chunk chunk = new Chunk(importId, state.getLastLine());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            Map<String, Integer> header = null;
+            long line = 0;
+            String text;
+
+            while ((text = reader.readLine()) != null) {
+                line++;
+
+                // the header is read again on every resume
+                if (format == ContractImportFormat.CSV && header == null) {
+                    header = csvHeader(text);
+                    chunk.skipTo(line);
+                    continue;
+                }
+                if (line <= state.getLastLine() || text.isBlank()) {
+                    chunk.skipTo(line);
+                    continue;
+                }
+
+                try {
+                    CreateContractRequest request = format == ContractImportFormat.CSV
+                            ? csvRow(text, header)
+                            : objectMapper.readValue(text, CreateContractRequest.class);
+                    validate(request);
+                    chunk.add(line, request);
+                } catch (JsonProcessingException e) {
+                    chunk.reject(line, e.getOriginalMessage());
+                } catch (RuntimeException e) {
+                    chunk.reject(line, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    commit(chunk, false);
+                }
+            }
+        } catch (IOException e) {
+            // whatever was committed stays; the client resumes from the checkpoint
+            throw new UncheckedIOException("Import " + importId + " interrupted; committed up to line " + chunk.checkpoint, e);
+        }
+
+        commit(chunk, true);
+        return getImport(importId);
+    }
+
+    public ContractImportResponse getImport(String importId) {
+        ContractImportResponse response = importRepository.find(importId)
+                .orElseThrow(() -> new RuntimeException("Import not found: " + importId));
+        response.setErrors(importRepository.findErrors(importId, maxReportedErrors));
+        return response;
+    }
+
+    // ===== CHUNKS =====
+
+    private void commit(Chunk chunk, boolean completed) {
+
+        Transition initial = workflowEngine.initial();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<NewContract> contracts = chunk.contracts(importRepository);
+
+            importRepository.insertContracts(contracts, initial.status(), initial.assignedRole(), batchSize);
+            importRepository.addErrors(chunk.importId, chunk.errors);
+
+            searchService.indexAll(contracts.stream()
+                    .map(c -> new ContractSearchDocument(c.id(), c.request().getContractName(), null, null))
+                    .toList());
+            counterService.created(initial.status(), initial.assignedRole(), contracts.size(),
+                    contracts.stream().map(c -> c.request().getContractAmount())
+                            .filter(Objects::nonNull).reduce(BigDecimal.ZERO, BigDecimal::add));
+
+            if (!importRepository.advance(chunk.importId, chunk.checkpoint, chunk.lastLine,
+                    contracts.size(), chunk.errors.size(), completed)) {
+                throw new RuntimeException("Import " + chunk.importId + " is being resumed by another upload");
+            }
+        });
+
+        chunk.committed();
+    }
+
+    /**
+     * Rows read since the last commit. checkpoint is the committed line,
+     * lastLine the furthest line consumed (including skipped ones).
+     */
+    private static final class Chunk {
+
+        final String importId;
+        final List<CreateContractRequest> requests = new ArrayList<>();
+        final List<RowError> errors = new ArrayList<>();
+        long checkpoint;
+        long lastLine;
+
+        Chunk(String importId, long checkpoint) {
+            this.importId = importId;
+            this.checkpoint = checkpoint;
+            this.lastLine = checkpoint;
+        }
+
+        void skipTo(long line) {
+            lastLine = Math.max(lastLine, line);
+        }
+
+        void add(long line, CreateContractRequest request) {
+            requests.add(request);
+            lastLine = line;
+        }
+
+        void reject(long line, String message) {
+            String text = message == null ? "Invalid row" : message;
+            errors.add(new RowError(line, text.length() > MAX_MESSAGE_LENGTH
+                    ? text.substring(0, MAX_MESSAGE_LENGTH) : text));
+            lastLine = line;
+        }
+
+        int size() {
+            return requests.size() + errors.size();
+        }
+
+        // assigns ids and resolves client users, as createContract does one at a time
+        List<NewContract> contracts(ContractImportRepository repository) {
+            if (requests.isEmpty()) {
+                return List.of();
+            }
+            Set<Long> clientIds = new HashSet<>();
+            requests.forEach(r -> {
+                if (r.getClientId() != null) {
+                    clientIds.add(r.getClientId());
+                }
+            });
+            Set<Long> clientUsers = new HashSet<>(repository.findClientUserIds(clientIds));
+            List<Long> ids = repository.reserveIds(requests.size());
+
+            List<NewContract> contracts = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                CreateContractRequest r = requests.get(i);
+                contracts.add(new NewContract(ids.get(i), r,
+                        clientUsers.contains(r.getClientId()) ? r.getClientId() : null));
+            }
+            return contracts;
+        }
+
+        void committed() {
+            requests.clear();
+            errors.clear();
+            checkpoint = lastLine;
+        }
+    }
+
+    // ===== ROWS =====
+
+    private static void validate(CreateContractRequest r) {
+        if (r == null) {
+            throw new RuntimeException("Empty row");
+        }
+        if (r.getContractName() == null || r.getContractName().isBlank()) {
+            throw new RuntimeException("contractName is required");
+        }
+        if (r.getContractName().length() > MAX_NAME_LENGTH) {
+            throw new RuntimeException("contractName is longer than " + MAX_NAME_LENGTH + " characters");
+        }
+        BigDecimal amount = r.getContractAmount();
+        if (amount != null) {
+            if (amount.signum() < 0) {
+                throw new RuntimeException("contractAmount must not be negative");
+            }
+            if (amount.scale() > AMOUNT_SCALE || amount.precision() - amount.scale() > AMOUNT_INTEGER_DIGITS) {
+                throw new RuntimeException("contractAmount does not fit numeric(15, 2)");
+            }
+        }
+    }
+
+    private static Map<String, Integer> csvHeader(String line) {
+        List<String> names = csvFields(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(), i);
+        }
+        if (!header.containsKey("contractname")) {
+            throw new RuntimeException("CSV header must name a contractName column");
+        }
+        return header;
+    }
+
+    private static CreateContractRequest csvRow(String line, Map<String, Integer> header) {
+        List<String> fields = csvFields(line);
+
+        CreateContractRequest r = new CreateContractRequest();
+        r.setContractName(field(fields, header, "contractname"));
+
+        String clientId = field(fields, header, "clientid");
+        String effectiveDate = field(fields, header, "effectivedate");
+        String amount = field(fields, header, "contractamount");
+        try {
+            r.setClientId(clientId == null ? null : Long.valueOf(clientId));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid clientId: " + clientId);
+        }
+        try {
+            r.setEffectiveDate(effectiveDate == null ? null : LocalDate.parse(effectiveDate));
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid effectiveDate: " + effectiveDate);
+        }
+        try {
+            r.setContractAmount(amount == null ? null : new BigDecimal(amount));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid contractAmount: " + amount);
+        }
+        return r;
+    }
+
+    // empty and missing fields are null
+    private static String field(List<String> fields, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
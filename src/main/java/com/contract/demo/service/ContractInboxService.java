@@ -0,0 +1,73 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractInboxQuery;
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.dto.ContractStamp;
+import com.contract.demo.dto.CursorPage;
+import com.contract.demo.dto.PageCursor;
+import com.contract.demo.repository.ContractRepository;
+import com.contract.demo.repository.ContractRepositoryCustom.InboxVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ContractInboxService {
+
+    private final ContractRepository contractRepository;
+
+    @Value("${contracts.inbox.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${contracts.inbox.max-page-size:200}")
+    private int maxPageSize;
+
+    public CursorPage<ContractResponse> roleInbox(String assignedRole, ContractInboxQuery query) {
+        return page(assignedRole, null, query);
+    }
+
+    public CursorPage<ContractResponse> clientInbox(Long clientUserId, ContractInboxQuery query) {
+        return page(null, clientUserId, query);
+    }
+
+    // Change token for the same inbox, query and page; see findInboxVersion
+    public String roleInboxTag(String assignedRole, ContractInboxQuery query) {
+        return tag(assignedRole, null, query);
+    }
+
+    public String clientInboxTag(Long clientUserId, ContractInboxQuery query) {
+        return tag(null, clientUserId, query);
+    }
+
+    private String tag(String assignedRole, Long clientUserId, ContractInboxQuery query) {
+
+        InboxVersion v = contractRepository.findInboxVersion(assignedRole, clientUserId, query);
+
+        int request = Objects.hash(query.getCursor(), pageSize(query.getSize()),
+                query.getStatus(), query.getFrom(), query.getTo());
+        return v.count() + "-" + ContractStamp.micros(v.lastUpdatedAt()) + "-" + Integer.toHexString(request);
+    }
+
+    private CursorPage<ContractResponse> page(String assignedRole, Long clientUserId, ContractInboxQuery query) {
+
+        int size = pageSize(query.getSize());
+
+        List<ContractResponse> rows = contractRepository.findInboxPage(
+                assignedRole, clientUserId, query, PageCursor.decode(query.getCursor()), size + 1);
+
+        return CursorPage.of(rows, size, c -> new PageCursor(c.getUpdatedAt(), c.getId()));
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,88 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractState;
+import com.contract.demo.entity.ContractStatus;
+import com.contract.demo.service.ContractTransitionService.Change;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Workflow meters:
+ * <ul>
+ *   <li>contracts.transition: time to apply one transition, by from/to status and outcome</li>
+ *   <li>contracts.transition.batch: time to apply a bulk review batch</li>
+ *   <li>contracts.reviews: approvals vs rejections, by reviewing role</li>
+ *   <li>contracts.stage.duration: how long a contract waited in the stage it just left</li>
+ *   <li>contracts.lifecycle.duration: creation to final decision, by final status</li>
+ * </ul>
+ * Decision meters are only recorded once the transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContractMetrics {
+
+    private static final Set<ContractStatus> REJECTED = EnumSet.of(
+            ContractStatus.REJECTED, ContractStatus.FINANCE_REJECTED, ContractStatus.CLIENT_REJECTED);
+
+    private static final Set<ContractStatus> FINAL = EnumSet.of(
+            ContractStatus.ACTIVE, ContractStatus.REJECTED,
+            ContractStatus.FINANCE_REJECTED, ContractStatus.CLIENT_REJECTED);
+
+    private final MeterRegistry registry;
+
+    public void transitionTimed(Change change, boolean applied, long nanos) {
+        Timer.builder("contracts.transition")
+                .tag("from", change.from().getStatus().name())
+                .tag("to", change.to().status().name())
+                .tag("outcome", applied ? "applied" : "conflict")
+                .register(registry)
+                .record(Duration.ofNanos(nanos));
+    }
+
+    public void batchTimed(int size, long nanos) {
+        Timer.builder("contracts.transition.batch")
+                .register(registry)
+                .record(Duration.ofNanos(nanos));
+        registry.summary("contracts.transition.batch.size").record(size);
+    }
+
+    public void applied(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        TransactionCallbacks.afterCommit(() -> changes.forEach(c -> record(c, now)));
+    }
+
+    private void record(Change change, LocalDateTime now) {
+        ContractState from = change.from();
+        ContractStatus to = change.to().status();
+
+        registry.counter("contracts.reviews",
+                "role", String.valueOf(from.getAssignedRole()),
+                "decision", REJECTED.contains(to) ? "rejected" : "approved").increment();
+
+        // from entering the stage; amendments while it waited do not restart it
+        if (from.getStageEnteredAt() != null) {
+            Timer.builder("contracts.stage.duration")
+                    .tag("stage", from.getStatus().name())
+                    .register(registry)
+                    .record(Duration.between(from.getStageEnteredAt(), now));
+        }
+
+        if (FINAL.contains(to) && from.getCreatedAt() != null) {
+            Timer.builder("contracts.lifecycle.duration")
+                    .tag("outcome", to.name())
+                    .register(registry)
+                    .record(Duration.between(from.getCreatedAt(), now));
+        }
+    }
+}
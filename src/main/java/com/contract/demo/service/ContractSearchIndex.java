@@ -0,0 +1,37 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractSearchDocument;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Full-text index over contract name, title and body. Which implementation
+ * is active is chosen by search.mode (postgres or lucene).
+ */
+public interface ContractSearchIndex {
+
+    // add or replace the document for one contract
+    void index(ContractSearchDocument document);
+
+    void indexAll(List<ContractSearchDocument> documents);
+
+    // ranked by relevance, best first
+    List<Hit> search(String query, int offset, int limit);
+
+    /**
+     * Contracts changed at or after this time may be missing from the index,
+     * so it has to catch up from there; BEGINNING when it needs a full build.
+     * Empty when the index is current.
+     */
+    Optional<LocalDateTime> staleSince();
+
+    // every contract changed up to this time is indexed; kept with the index's next commit
+    void markIndexedThrough(LocalDateTime through);
+
+    LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    record Hit(Long contractId, float score) {
+    }
+}
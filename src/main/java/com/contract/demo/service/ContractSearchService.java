@@ -0,0 +1,157 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.dto.ContractSearchDocument;
+import com.contract.demo.dto.ContractSearchResponse;
+import com.contract.demo.entity.Contract;
+import com.contract.demo.repository.ContractRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked full-text search over contracts. The index only returns ids and
+ * scores; the page is then filled from the list projection in one query.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContractSearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final ContractSearchIndex searchIndex;
+    private final ContractRepository contractRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean catchingUp = new AtomicBoolean();
+
+    @Value("${search.sync.overlap:60s}")
+    private Duration syncOverlap;
+
+    @Value("${contracts.search.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${contracts.search.max-page-size:100}")
+    private int maxPageSize;
+
+    // ranking past this depth is never useful and only costs index work
+    @Value("${contracts.search.max-results:1000}")
+    private int maxResults;
+
+    /**
+     * Called from every path that creates a contract or changes its text,
+     * inside the same transaction.
+     */
+    public void index(Contract contract, String content) {
+        searchIndex.index(new ContractSearchDocument(
+                contract.getId(), contract.getContractName(), contract.getTitle(), content));
+    }
+
+    // Bulk form of index(), same transaction rules
+    public void indexAll(List<ContractSearchDocument> documents) {
+        if (!documents.isEmpty()) {
+            searchIndex.indexAll(documents);
+        }
+    }
+
+    public ContractSearchResponse search(String query, Integer page, Integer size) {
+
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search query is required");
+        }
+
+        int pageSize = (size == null || size <= 0) ? defaultPageSize : Math.min(size, maxPageSize);
+        int pageNo = (page == null || page < 0) ? 0 : page;
+        int offset = pageNo * pageSize;
+
+        if (offset >= maxResults) {
+            return new ContractSearchResponse(query, pageNo, pageSize, List.of(), false);
+        }
+
+        // one extra hit tells us whether another page exists
+        List<ContractSearchIndex.Hit> hits = searchIndex.search(query, offset, pageSize + 1);
+        boolean hasMore = hits.size() > pageSize && offset + pageSize < maxResults;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+        }
+
+        Map<Long, ContractResponse> rows = contractRepository
+                .findResponsesByIdIn(hits.stream().map(ContractSearchIndex.Hit::contractId).toList())
+                .stream()
+                .collect(Collectors.toMap(ContractResponse::getId, Function.identity()));
+
+        List<ContractSearchResponse.Hit> items = new ArrayList<>(hits.size());
+        for (ContractSearchIndex.Hit hit : hits) {
+            ContractResponse row = rows.get(hit.contractId());
+            if (row != null) {
+                items.add(new ContractSearchResponse.Hit(hit.score(), row));
+            }
+        }
+        return new ContractSearchResponse(query, pageNo, pageSize, items, hasMore);
+    }
+
+    /**
+     * Re-indexes every contract changed since the index's mark, minus the
+     * overlap, and moves the mark up. Builds an empty index (first start, new
+     * mode, deleted index directory) from scratch the same way. Runs at
+     * startup and periodically, which is how an index kept outside the
+     * database picks up saves made on other nodes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${search.sync.interval-ms:30000}",
+            initialDelayString = "${search.sync.interval-ms:30000}")
+    public void catchUp() {
+
+        Optional<LocalDateTime> staleSince = searchIndex.staleSince();
+        if (staleSince.isEmpty() || !catchingUp.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            // rows committed late, or stamped by a node whose clock is behind, land before the mark
+            LocalDateTime at = staleSince.get().minus(syncOverlap);
+            long after = 0;
+            int total = 0;
+            while (true) {
+                LocalDateTime fromAt = at;
+                long fromId = after;
+                List<ContractSearchDocument> batch = transactionTemplate.execute(status -> {
+                    List<ContractSearchDocument> docs = contractRepository.findSearchDocumentsChangedSince(
+                            fromAt, fromId, Limit.of(REBUILD_BATCH_SIZE));
+                    searchIndex.indexAll(docs);
+                    return docs;
+                });
+                if (batch.isEmpty()) {
+                    break;
+                }
+                total += batch.size();
+                at = batch.get(batch.size() - 1).getUpdatedAt();
+                after = batch.get(batch.size() - 1).getId();
+                searchIndex.markIndexedThrough(at);
+            }
+
+            if (staleSince.get().equals(ContractSearchIndex.BEGINNING) && total > 0) {
+                log.info("Built contract search index for {} contracts", total);
+            }
+        } finally {
+            catchingUp.set(false);
+        }
+    }
+}
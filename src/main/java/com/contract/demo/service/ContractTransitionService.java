@@ -0,0 +1,77 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractState;
+import com.contract.demo.repository.ContractBatchRepository;
+import com.contract.demo.repository.ContractBatchRepository.StatusUpdate;
+import com.contract.demo.service.WorkflowEngine.Transition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies status transitions as conditional updates. A transition only
+ * happens if the contract is still in the status it was read in, so two
+ * reviewers racing on the same contract cannot both succeed, and only if no
+ * other reviewer holds a live claim on it (ContractClaimService).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ContractTransitionService {
+
+    private final ContractBatchRepository contractBatchRepository;
+    private final ContractCounterService counterService;
+    private final ContractMetrics metrics;
+    private final ContractEventOutbox eventOutbox;
+
+    public void apply(Change change) {
+        long start = System.nanoTime();
+        boolean applied = compareAndSet(List.of(change))[0];
+        metrics.transitionTimed(change, applied, System.nanoTime() - start);
+
+        if (!applied) {
+            throw new OptimisticLockingFailureException(
+                    "Contract " + change.from().getId()
+                            + " was changed by another review or is claimed by another reviewer");
+        }
+    }
+
+    // Per change: true if applied, false if the contract had already moved on
+    public boolean[] applyAll(List<Change> changes) {
+        long start = System.nanoTime();
+        boolean[] applied = compareAndSet(changes);
+        metrics.batchTimed(changes.size(), System.nanoTime() - start);
+        return applied;
+    }
+
+    private boolean[] compareAndSet(List<Change> changes) {
+        boolean[] applied = contractBatchRepository.compareAndSetStatus(changes.stream()
+                .map(c -> new StatusUpdate(c.from().getId(), c.from().getStatus(),
+                        c.to().status(), c.to().assignedRole(), c.reviewerId(), c.financeUserId(), c.clientRemarks()))
+                .toList());
+
+        List<Change> moved = new ArrayList<>(changes.size());
+        for (int i = 0; i < applied.length; i++) {
+            if (applied[i]) {
+                moved.add(changes.get(i));
+            }
+        }
+        counterService.moved(moved);
+        eventOutbox.record(moved);
+        metrics.applied(moved);
+
+        return applied;
+    }
+
+    public record Change(ContractState from, Transition to, Long reviewerId, Long financeUserId,
+                         String clientRemarks) {
+
+        public Change(ContractState from, Transition to, Long reviewerId) {
+            this(from, to, reviewerId, null, null);
+        }
+    }
+}
@@ -1,20 +1,26 @@
 package com.contract.demo.service;
 
+import com.contract.demo.config.CustomUserDetails;
+import com.contract.demo.dto.BulkReviewResult;
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.dto.ContractState;
 import com.contract.demo.dto.FinanceReviewRequest;
-import com.contract.demo.entity.AuditLog;
-import com.contract.demo.entity.Contract;
-import com.contract.demo.entity.ContractStatus;
-import com.contract.demo.repository.AuditLogRepository;
+import com.contract.demo.dto.ReviewOutcome;
 import com.contract.demo.repository.ContractRepository;
-import com.contract.demo.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.contract.demo.service.ContractTransitionService.Change;
+import com.contract.demo.service.WorkflowEngine.Transition;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,48 +28,90 @@ import java.time.LocalDateTime;
 public class FinanceReviewerService {
 
     private final ContractRepository contractRepository;
-    private final AuditLogRepository auditRepo;
+    private final AuditLogWriter auditLogWriter;
+    private final ContractTransitionService transitionService;
+    private final WorkflowEngine workflowEngine;
 
-    public Contract reviewContract(FinanceReviewRequest request, String reviewer) {
+    @Value("${contracts.review.max-batch-size:500}")
+    private int maxBatchSize;
 
-        Contract contract = contractRepository.findById(request.getContractId())
-                .orElseThrow(() -> new RuntimeException("Contract not found"));
+    public ContractResponse reviewContract(FinanceReviewRequest request, String reviewer) {
 
-        if (contract.getStatus() != ContractStatus.LEGAL_REVIEW) {
-            throw new RuntimeException("Only LEGAL_REVIEW contracts can be reviewed by Finance");
-        }
+        ContractState contract = contractRepository.findStateById(request.getContractId())
+                .orElseThrow(() -> new RuntimeException("Contract not found"));
 
-        if (request.isApproved()) {
-            contract.setStatus(ContractStatus.FINANCE_APPROVED);
-        } else {
-            contract.setStatus(ContractStatus.FINANCE_REJECTED);
-        }
+        Transition next = workflowEngine.resolve(contract.getStatus(), "FINANCE_REVIEWER", request.isApproved());
 
-        contract.setFinanceUserId(getCurrentUserId());
+        Long reviewerId = getCurrentUserId();
+        transitionService.apply(new Change(contract, next, reviewerId, reviewerId, null));
 
         audit("FINANCE_REVIEW", reviewer,
-                "Contract " + contract.getId() + " -> " + contract.getStatus() +
+                "Contract " + contract.getId() + " -> " + next.status() +
                         " Remarks: " + request.getRemarks());
 
-        return contractRepository.save(contract);
+        return contractRepository.findResponseById(contract.getId()).orElseThrow();
+    }
+
+    // Review many contracts: one select, one JDBC batch update
+    public List<BulkReviewResult> reviewContracts(List<FinanceReviewRequest> requests, String reviewer) {
+
+        Map<Long, ContractState> contracts = BulkReviews.loadStates(contractRepository,
+                requests.stream().map(FinanceReviewRequest::getContractId).toList(), maxBatchSize);
+
+        Long reviewerId = getCurrentUserId();
+        List<BulkReviewResult> results = new ArrayList<>(requests.size());
+        List<Change> changes = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<String> remarks = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (FinanceReviewRequest request : requests) {
+            Long id = request.getContractId();
+            ContractState contract = contracts.get(id);
+
+            if (contract == null) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.NOT_FOUND, "Contract not found"));
+                continue;
+            }
+            if (!seen.add(id)) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.INVALID_STATE, "Duplicate contract in batch"));
+                continue;
+            }
+
+            Transition next;
+            try {
+                next = workflowEngine.resolve(contract.getStatus(), "FINANCE_REVIEWER", request.isApproved());
+            } catch (InvalidTransitionException e) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.INVALID_STATE, e.getMessage()));
+                continue;
+            }
+
+            slots.add(results.size());
+            changes.add(new Change(contract, next, reviewerId, reviewerId, null));
+            remarks.add(request.getRemarks());
+            results.add(BulkReviewResult.success(id, next.status()));
+        }
+
+        boolean[] applied = transitionService.applyAll(changes);
+        BulkReviews.markConflicts(results, slots, applied);
+
+        for (int i = 0; i < applied.length; i++) {
+            if (applied[i]) {
+                Change c = changes.get(i);
+                audit("FINANCE_REVIEW", reviewer,
+                        "Contract " + c.from().getId() + " -> " + c.to().status() + " Remarks: " + remarks.get(i));
+            }
+        }
+        return results;
     }
 
     private void audit(String action, String actor, String details) {
-        AuditLog log = new AuditLog();
-        log.setAction(action);
-        log.setActor(actor);
-        log.setDetails(details);
-        log.setTimestamp(LocalDateTime.now());
-        auditRepo.save(log);
+        auditLogWriter.record(action, actor, details);
     }
 
-        UserRepository userRepository;
     private Long getCurrentUserId() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username))
-                .getId();
+        return ((CustomUserDetails) auth.getPrincipal()).getId();
     }
 
 }
@@ -0,0 +1,8 @@
+package com.contract.demo.service;
+
+public class InvalidTransitionException extends RuntimeException {
+
+    public InvalidTransitionException(String message) {
+        super(message);
+    }
+}
@@ -1,15 +1,34 @@
 package com.contract.demo.service;
 
+import com.contract.demo.config.CustomUserDetails;
+import com.contract.demo.dto.BulkReviewResult;
+import com.contract.demo.dto.ContractDetailResponse;
+import com.contract.demo.dto.ContractInboxQuery;
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.dto.ContractSearchResponse;
+import com.contract.demo.dto.ContractState;
 import com.contract.demo.dto.CreateContractRequest;
+import com.contract.demo.dto.CursorPage;
 import com.contract.demo.dto.LegalReviewRequest;
+import com.contract.demo.dto.ReviewOutcome;
 import com.contract.demo.entity.Contract;
-import com.contract.demo.entity.ContractStatus;
 import com.contract.demo.repository.ContractRepository;
-import jakarta.transaction.Transactional;
+import com.contract.demo.repository.UserRepository;
+import com.contract.demo.service.ContractTransitionService.Change;
+import com.contract.demo.service.WorkflowEngine.Transition;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -17,46 +36,132 @@ import java.util.List;
 public class LegalUserService {
 
     private final ContractRepository contractRepository;
+    private final UserRepository userRepository;
+    private final ContractInboxService inboxService;
+    private final ContractTransitionService transitionService;
+    private final WorkflowEngine workflowEngine;
+    private final ContractSearchService searchService;
+    private final ContractCounterService counterService;
+
+    @Value("${contracts.review.max-batch-size:500}")
+    private int maxBatchSize;
+
+    // View contracts assigned to Legal, a page at a time
+    @Transactional(readOnly = true)
+    public CursorPage<ContractResponse> getLegalContracts(ContractInboxQuery query) {
+        return inboxService.roleInbox("LEGAL_USER", query);
+    }
+
+    @Transactional(readOnly = true)
+    public String getLegalContractsTag(ContractInboxQuery query) {
+        return inboxService.roleInboxTag("LEGAL_USER", query);
+    }
 
-    // View contracts assigned to Legal
-    public List<Contract> getLegalContracts() {
-        return contractRepository.findByAssignedRole("LEGAL_USER");
+    @Transactional(readOnly = true)
+    public ContractSearchResponse searchContracts(String query, Integer page, Integer size) {
+        return searchService.search(query, page, size);
     }
 
-    public Contract createContract(CreateContractRequest request) {
+    @Transactional(readOnly = true)
+    public ContractDetailResponse getContract(Long id) {
+        return contractRepository.findDetailById(id)
+                .orElseThrow(() -> new RuntimeException("Contract not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public String getContractTag(Long id) {
+        return contractRepository.findStampById(id)
+                .orElseThrow(() -> new RuntimeException("Contract not found"))
+                .etag();
+    }
+
+    public ContractResponse createContract(CreateContractRequest request) {
 
         Contract contract = new Contract();
 
         contract.setContractName(request.getContractName());
         contract.setClientId(request.getClientId());
+
+        // a client id naming a CLIENT user links the contract into that user's inbox
+        if (request.getClientId() != null && userRepository.existsByIdAndRoles_Name(request.getClientId(), "CLIENT")) {
+            contract.setClientUser(userRepository.getReferenceById(request.getClientId()));
+        }
         contract.setEffectiveDate(request.getEffectiveDate());
-        contract.setContractAmount(request.getContractAmount());
+        // numeric(15, 2) would round it on insert anyway; round here so the response and counters agree
+        if (request.getContractAmount() != null) {
+            contract.setContractAmount(request.getContractAmount().setScale(2, RoundingMode.HALF_UP));
+        }
 
-        contract.setStatus(ContractStatus.LEGAL_REVIEW);
-        contract.setAssignedRole("LEGAL_USER");
+        Transition initial = workflowEngine.initial();
+        contract.setStatus(initial.status());
+        contract.setAssignedRole(initial.assignedRole());
         contract.setActive(true);
 
-        return contractRepository.save(contract);
+        Contract saved = contractRepository.save(contract);
+        searchService.index(saved, null);
+        counterService.created(saved.getStatus(), saved.getAssignedRole(), saved.getContractAmount());
+
+        return ContractResponse.of(saved);
     }
 
 
     // Review and forward contract
-    public Contract reviewContract(LegalReviewRequest request) {
+    public ContractResponse reviewContract(LegalReviewRequest request) {
 
-        Contract contract = contractRepository.findById(request.getContractId())
+        ContractState contract = contractRepository.findStateById(request.getContractId())
                 .orElseThrow(() -> new RuntimeException("Contract not found"));
 
-        if (!"LEGAL_USER".equals(contract.getAssignedRole())) {
-            throw new RuntimeException("Contract not assigned to LEGAL_USER");
-        }
+        Transition next = workflowEngine.resolve(contract.getStatus(), "LEGAL_USER", request.isApproved());
+
+        transitionService.apply(new Change(contract, next, getCurrentUserId()));
 
-        if (request.isApproved()) {
-            contract.setStatus(ContractStatus.FINANCE_REVIEW);
-            contract.setAssignedRole("FINANCE_REVIEWER");
-        } else {
-            contract.setStatus(ContractStatus.REJECTED);
+        return contractRepository.findResponseById(contract.getId()).orElseThrow();
+    }
+
+    // Review many contracts: one select, one JDBC batch update
+    public List<BulkReviewResult> reviewContracts(List<LegalReviewRequest> requests) {
+
+        Map<Long, ContractState> contracts = BulkReviews.loadStates(contractRepository,
+                requests.stream().map(LegalReviewRequest::getContractId).toList(), maxBatchSize);
+
+        Long reviewerId = getCurrentUserId();
+        List<BulkReviewResult> results = new ArrayList<>(requests.size());
+        List<Change> changes = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (LegalReviewRequest request : requests) {
+            Long id = request.getContractId();
+            ContractState contract = contracts.get(id);
+
+            if (contract == null) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.NOT_FOUND, "Contract not found"));
+                continue;
+            }
+            if (!seen.add(id)) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.INVALID_STATE, "Duplicate contract in batch"));
+                continue;
+            }
+
+            Transition next;
+            try {
+                next = workflowEngine.resolve(contract.getStatus(), "LEGAL_USER", request.isApproved());
+            } catch (InvalidTransitionException e) {
+                results.add(BulkReviewResult.failure(id, ReviewOutcome.INVALID_STATE, e.getMessage()));
+                continue;
+            }
+
+            slots.add(results.size());
+            changes.add(new Change(contract, next, reviewerId));
+            results.add(BulkReviewResult.success(id, next.status()));
         }
 
-        return contractRepository.save(contract);
+        BulkReviews.markConflicts(results, slots, transitionService.applyAll(changes));
+        return results;
+    }
+
+    private Long getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ((CustomUserDetails) auth.getPrincipal()).getId();
     }
 }
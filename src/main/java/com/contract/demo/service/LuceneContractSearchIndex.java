@@ -0,0 +1,195 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractSearchDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Embedded Lucene index on local disk. Updates are applied after the
+ * surrounding transaction commits and become searchable on the next
+ * searcher refresh; they are committed to disk on a timer and at shutdown.
+ * Each node only sees its own saves this way, and a crash loses what was
+ * not yet committed, so every commit also records how far the index has
+ * caught up with the database (ContractSearchService fills in the rest).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.mode", havingValue = "lucene")
+public class LuceneContractSearchIndex implements ContractSearchIndex {
+
+    private static final String ID = "id";
+    private static final String NAME = "contractName";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+
+    // commit user data: every contract changed up to this time is in the commit
+    private static final String INDEXED_THROUGH = "indexedThrough";
+
+    // same weighting as the postgres index: name over title over body
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(NAME, 3f, TITLE, 2f, CONTENT, 1f);
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public LuceneContractSearchIndex(@Value("${search.lucene.path:data/contract-index}") Path path)
+            throws IOException {
+        this.writer = new IndexWriter(FSDirectory.open(path), new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @Override
+    public void index(ContractSearchDocument document) {
+        TransactionCallbacks.afterCommit(() -> {
+            write(document);
+            refresh();
+        });
+    }
+
+    @Override
+    public void indexAll(List<ContractSearchDocument> documents) {
+        TransactionCallbacks.afterCommit(() -> {
+            documents.forEach(this::write);
+            refresh();
+        });
+    }
+
+    @Override
+    public List<Hit> search(String query, int offset, int limit) {
+
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query parsed = parser.parse(query);
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs top = searcher.search(parsed, offset + limit);
+
+            List<Hit> hits = new ArrayList<>(limit);
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ScoreDoc sd = top.scoreDocs[i];
+                String id = searcher.storedFields().document(sd.doc).get(ID);
+                hits.add(new Hit(Long.valueOf(id), sd.score));
+            }
+            return hits;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @Override
+    public Optional<LocalDateTime> staleSince() {
+        if (writer.getDocStats().numDocs == 0) {
+            return Optional.of(BEGINNING);
+        }
+        Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+        if (data != null) {
+            for (Map.Entry<String, String> entry : data) {
+                if (entry.getKey().equals(INDEXED_THROUGH)) {
+                    return Optional.of(LocalDateTime.parse(entry.getValue()));
+                }
+            }
+        }
+        // built before the mark was recorded
+        return Optional.of(BEGINNING);
+    }
+
+    // documents written before this call are in the same commit as the mark
+    @Override
+    public void markIndexedThrough(LocalDateTime through) {
+        writer.setLiveCommitData(Map.of(INDEXED_THROUGH, through.toString()).entrySet());
+    }
+
+    @Scheduled(fixedDelayString = "${search.lucene.commit-interval-ms:5000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("Contract index commit failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+    }
+
+    // ===== INTERNALS =====
+
+    private void write(ContractSearchDocument d) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, d.getId().toString(), Field.Store.YES));
+        addText(doc, NAME, d.getContractName());
+        addText(doc, TITLE, d.getTitle());
+        addText(doc, CONTENT, d.getContent());
+
+        try {
+            writer.updateDocument(new Term(ID, d.getId().toString()), doc);
+        } catch (IOException e) {
+            // the transaction has already committed; the contract is picked up again on its next change
+            log.error("Could not index contract {}", d.getId(), e);
+        }
+    }
+
+    private static void addText(Document doc, String field, String value) {
+        if (value != null) {
+            doc.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Contract index refresh failed", e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Could not release contract index searcher", e);
+        }
+    }
+}
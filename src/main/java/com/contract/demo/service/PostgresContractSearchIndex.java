@@ -0,0 +1,71 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractSearchDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Index kept in contract_search as a weighted tsvector behind a GIN index.
+ * Writes join the caller's transaction, so the index never disagrees with
+ * committed data.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.mode", havingValue = "postgres", matchIfMissing = true)
+public class PostgresContractSearchIndex implements ContractSearchIndex {
+
+    private static final String UPSERT_SQL = """
+            insert into contract_search (contract_id, document)
+            values (?, setweight(to_tsvector('english', coalesce(?::text, '')), 'A')
+                    || setweight(to_tsvector('english', coalesce(?::text, '')), 'B')
+                    || setweight(to_tsvector('english', coalesce(?::text, '')), 'C'))
+            on conflict (contract_id) do update set document = excluded.document
+            """;
+
+    // the @@ filter is answered by the GIN index; only matching rows get ranked
+    private static final String SEARCH_SQL = """
+            select s.contract_id, ts_rank_cd(s.document, q) as score
+              from contract_search s, websearch_to_tsquery('english', ?) q
+             where s.document @@ q
+             order by score desc, s.contract_id
+             limit ? offset ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void index(ContractSearchDocument d) {
+        jdbcTemplate.update(UPSERT_SQL, d.getId(), d.getContractName(), d.getTitle(), d.getContent());
+    }
+
+    @Override
+    public void indexAll(List<ContractSearchDocument> documents) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, documents.stream()
+                .map(d -> new Object[]{d.getId(), d.getContractName(), d.getTitle(), d.getContent()})
+                .toList());
+    }
+
+    @Override
+    public List<Hit> search(String query, int offset, int limit) {
+        return jdbcTemplate.query(SEARCH_SQL,
+                (rs, i) -> new Hit(rs.getLong(1), rs.getFloat(2)), query, limit, offset);
+    }
+
+    // written with the contracts themselves, so only a new (empty) index is behind
+    @Override
+    public Optional<LocalDateTime> staleSince() {
+        boolean empty = Boolean.FALSE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from contract_search)", Boolean.class));
+        return empty ? Optional.of(BEGINNING) : Optional.empty();
+    }
+
+    @Override
+    public void markIndexedThrough(LocalDateTime through) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.contract.demo.service;
+
+import com.contract.demo.entity.Permission;
+import com.contract.demo.entity.RolePermission;
+import com.contract.demo.repository.PermissionRepository;
+import com.contract.demo.repository.RolePermissionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Role permissions compiled into bitsets, one bit per permission (its id).
+ * Checks only read the current table; it is rebuilt and swapped as a whole
+ * whenever grants change, and periodically to pick up changes made on other
+ * nodes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RolePermissions {
+
+    // can always change grants, so no state of role_permissions locks the admins out
+    public static final String ADMIN_ROLE = "SUPER_ADMIN";
+    public static final String MANAGE_PERMISSIONS = "MANAGE_PERMISSIONS";
+
+    private final PermissionRepository permissionRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+
+    private volatile PermissionTable table = new PermissionTable(0, Map.of(), Map.of());
+
+    // again once ready: schema.sql seeds the default grants after this bean is created
+    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.permissions.refresh-interval-ms:60000}",
+            initialDelayString = "${security.permissions.refresh-interval-ms:60000}")
+    public void reload() {
+        PermissionTable current = table;
+        PermissionTable next = compile(current.generation() + 1,
+                permissionRepository.findAll(), rolePermissionRepository.findAllWithRoleAndPermission());
+
+        // an unchanged table keeps its generation, so masks taken at login stay current
+        if (!next.bits().equals(current.bits()) || !next.roles().equals(current.roles())) {
+            table = next;
+            log.info("Role permissions compiled (generation {}): {} permissions, {} roles",
+                    next.generation(), next.bits().size(), next.roles().size());
+        }
+    }
+
+    public PermissionTable current() {
+        return table;
+    }
+
+    // ================= COMPILATION =================
+
+    static PermissionTable compile(long generation, List<Permission> permissions, List<RolePermission> grants) {
+
+        Map<String, Integer> bits = new HashMap<>();
+        permissions.forEach(p -> bits.put(p.getName(), Math.toIntExact(p.getId())));
+
+        Map<String, BitSet> roles = new HashMap<>();
+        for (RolePermission grant : grants) {
+            roles.computeIfAbsent(grant.getRole().getName(), r -> new BitSet())
+                    .set(Math.toIntExact(grant.getPermission().getId()));
+        }
+        Integer manage = bits.get(MANAGE_PERMISSIONS);
+        if (manage != null) {
+            roles.computeIfAbsent(ADMIN_ROLE, r -> new BitSet()).set(manage);
+        }
+        return new PermissionTable(generation, Map.copyOf(bits), Map.copyOf(roles));
+    }
+
+    /**
+     * Permission name to bit, and the bits granted to each role. Never
+     * mutated after compile(); masks handed out are copies.
+     */
+    public record PermissionTable(long generation, Map<String, Integer> bits, Map<String, BitSet> roles) {
+
+        // the permissions of all the given roles together
+        public BitSet mask(Collection<String> roleNames) {
+            BitSet mask = new BitSet();
+            for (String role : roleNames) {
+                BitSet granted = roles.get(role);
+                if (granted != null) {
+                    mask.or(granted);
+                }
+            }
+            return mask;
+        }
+
+        // -1 for a name that is not in the catalog
+        public int bit(String permission) {
+            return bits.getOrDefault(permission, -1);
+        }
+    }
+}
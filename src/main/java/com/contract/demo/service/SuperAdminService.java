@@ -1,18 +1,22 @@
 package com.contract.demo.service;
 
+import com.contract.demo.config.CustomUserDetailsService;
 import com.contract.demo.dto.AssignRoleRequest;
 import com.contract.demo.dto.CreateUserRequest;
+import com.contract.demo.dto.RolePermissionsRequest;
 import com.contract.demo.dto.WorkflowMappingRequest;
 import com.contract.demo.entity.*;
 import com.contract.demo.repository.*;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,8 +27,13 @@ public class SuperAdminService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final WorkflowRepository workflowRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final WorkflowEngine workflowEngine;
+    private final PermissionRepository permissionRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+    private final RolePermissions rolePermissions;
 
     // ================= USER MANAGEMENT =================
 
@@ -46,6 +55,7 @@ public class SuperAdminService {
         user.setRoles(roles);
 
         User savedUser = userRepository.save(user);
+        TransactionCallbacks.afterCommit(() -> userDetailsService.evict(savedUser.getUsername()));
 
         audit("CREATE_USER", "Created user: " + savedUser.getUsername());
 
@@ -66,6 +76,7 @@ public class SuperAdminService {
 
         user.setRoles(roles);
         userRepository.save(user);
+        TransactionCallbacks.afterCommit(() -> userDetailsService.evict(user.getUsername()));
 
         audit("ASSIGN_ROLE", "User: " + user.getUsername() + " Roles: " + roles);
     }
@@ -80,39 +91,61 @@ public class SuperAdminService {
         mapping.setActive(true);
 
         WorkflowMapping saved = workflowRepository.save(mapping);
+        TransactionCallbacks.afterCommit(workflowEngine::reload);
 
         audit("MAP_WORKFLOW", request.getFromRole() + " -> " + request.getToRole());
 
         return saved;
     }
 
-    // ================= VIEW ALL USERS =================
+    // ================= ROLE PERMISSIONS =================
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public Map<String, Set<String>> getRolePermissions() {
+        Map<String, Set<String>> grants = new TreeMap<>();
+        roleRepository.findAll().forEach(r -> grants.put(r.getName(), new TreeSet<>()));
+        rolePermissionRepository.findAllWithRoleAndPermission().forEach(rp ->
+                grants.get(rp.getRole().getName()).add(rp.getPermission().getName()));
+        return grants;
     }
 
-    // ================= AUDIT LOGS =================
+    public void setRolePermissions(String roleName, RolePermissionsRequest request) {
+
+        Role role = roleRepository.findByName(roleName)
+                .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
+
+        Set<String> names = request.getPermissions() == null ? Set.of() : request.getPermissions();
+        if (RolePermissions.ADMIN_ROLE.equals(roleName) && !names.contains(RolePermissions.MANAGE_PERMISSIONS)) {
+            throw new RuntimeException(RolePermissions.ADMIN_ROLE + " must keep " + RolePermissions.MANAGE_PERMISSIONS);
+        }
+
+        Set<Permission> permissions = names.stream()
+                .map(name -> permissionRepository.findByName(name)
+                        .orElseThrow(() -> new RuntimeException("Permission not found: " + name)))
+                .collect(Collectors.toSet());
 
-    public List<AuditLog> getAuditLogs() {
-        return auditLogRepository.findAll();
+        rolePermissionRepository.deleteByRole(role);
+        for (Permission permission : permissions) {
+            RolePermission grant = new RolePermission();
+            grant.setRole(role);
+            grant.setPermission(permission);
+            rolePermissionRepository.save(grant);
+        }
+        TransactionCallbacks.afterCommit(rolePermissions::reload);
+
+        audit("SET_PERMISSIONS", "Role: " + roleName + " Permissions: " + new TreeSet<>(names));
     }
 
-    // ================= AUDIT UTILITY =================
+    // ================= VIEW ALL USERS =================
 
-    private void audit(String action, String details) {
-        AuditLog log = new AuditLog();
-        log.setAction(action);
-        log.setDetails(details);
-        log.setActor("superadmin");
-        log.setTimestamp(LocalDateTime.now());
-        auditLogRepository.save(log);
+    @Transactional(readOnly = true)
+    public List<User> getAllUsers() {
+        return userRepository.findAllWithRoles();
     }
 
+    // ================= AUDIT UTILITY =================
 
-    private String getCurrentUser() {
-        var auth = org.springframework.security.core.context.SecurityContextHolder
-                .getContext().getAuthentication();
-        return auth != null ? auth.getName() : "SYSTEM";
+    private void audit(String action, String details) {
+        auditLogWriter.record(action, "superadmin", details);
     }
 }
@@ -0,0 +1,212 @@
+package com.contract.demo.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Line-based text deltas. A delta is a compact list of operations against
+ * the previous text: copy n lines, skip n lines, insert text. Its size is
+ * proportional to what changed, not to the size of the document.
+ *
+ * <pre>
+ *   =12\n        copy 12 lines
+ *   -3\n         drop 3 lines
+ *   +27\n...     insert the next 27 characters
+ * </pre>
+ */
+public final class TextDelta {
+
+    // Myers' trace grows with the square of the changed lines; past this callers store a snapshot
+    private static final int MAX_EDITS = 2000;
+
+    private TextDelta() {
+    }
+
+    public enum Type { EQUAL, DELETE, INSERT }
+
+    /**
+     * One line of a diff. Line numbers are 1-based; oldLine is null for
+     * inserts and newLine is null for deletes.
+     */
+    public record Edit(Type type, Integer oldLine, Integer newLine, String text) {
+    }
+
+    /**
+     * Encodes the delta that turns base into target, or returns null when
+     * the texts differ in too many lines for a delta to be worthwhile.
+     */
+    public static String encode(String base, String target) {
+        List<Edit> edits = diff(base, target);
+        if (edits == null) {
+            return null;
+        }
+
+        StringBuilder out = new StringBuilder();
+        int i = 0;
+        while (i < edits.size()) {
+            Type type = edits.get(i).type();
+            int j = i;
+            StringBuilder inserted = new StringBuilder();
+            while (j < edits.size() && edits.get(j).type() == type) {
+                if (type == Type.INSERT) {
+                    inserted.append(edits.get(j).text());
+                }
+                j++;
+            }
+            switch (type) {
+                case EQUAL -> out.append('=').append(j - i).append('\n');
+                case DELETE -> out.append('-').append(j - i).append('\n');
+                case INSERT -> out.append('+').append(inserted.length()).append('\n').append(inserted);
+            }
+            i = j;
+        }
+        return out.toString();
+    }
+
+    public static String apply(String base, String delta) {
+        List<String> lines = lines(base);
+        StringBuilder out = new StringBuilder();
+        int line = 0;
+        int pos = 0;
+
+        while (pos < delta.length()) {
+            char op = delta.charAt(pos);
+            int eol = delta.indexOf('\n', pos);
+            int n = Integer.parseInt(delta, pos + 1, eol, 10);
+            pos = eol + 1;
+
+            switch (op) {
+                case '=' -> {
+                    for (int k = 0; k < n; k++) {
+                        out.append(lines.get(line++));
+                    }
+                }
+                case '-' -> line += n;
+                case '+' -> {
+                    out.append(delta, pos, pos + n);
+                    pos += n;
+                }
+                default -> throw new IllegalArgumentException("Corrupt delta at offset " + pos);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Line diff between two texts (Myers, O((N+M)D)). Returns null if more
+     * than MAX_EDITS lines differ.
+     */
+    public static List<Edit> diff(String base, String target) {
+        List<String> a = lines(base);
+        List<String> b = lines(target);
+
+        // common prefix / suffix never reach the O(ND) part
+        int prefix = 0;
+        while (prefix < a.size() && prefix < b.size() && a.get(prefix).equals(b.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.size() - prefix && suffix < b.size() - prefix
+                && a.get(a.size() - 1 - suffix).equals(b.get(b.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        List<Edit> middle = myers(a.subList(prefix, a.size() - suffix), b.subList(prefix, b.size() - suffix), prefix);
+        if (middle == null) {
+            return null;
+        }
+
+        List<Edit> edits = new ArrayList<>(prefix + middle.size() + suffix);
+        for (int i = 0; i < prefix; i++) {
+            edits.add(new Edit(Type.EQUAL, i + 1, i + 1, a.get(i)));
+        }
+        edits.addAll(middle);
+        for (int i = suffix; i > 0; i--) {
+            edits.add(new Edit(Type.EQUAL, a.size() - i + 1, b.size() - i + 1, a.get(a.size() - i)));
+        }
+        return edits;
+    }
+
+    private static List<Edit> myers(List<String> a, List<String> b, int lineOffset) {
+        int n = a.size();
+        int m = b.size();
+        int max = n + m;
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+
+        int depth = -1;
+        search:
+        for (int d = 0; d <= max; d++) {
+            if (d > MAX_EDITS) {
+                return null;
+            }
+            // only diagonals -d-1 .. d+1 can be read when backtracking round d
+            trace.add(Arrays.copyOfRange(v, offset - d - 1, offset + d + 2));
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]))
+                        ? v[offset + k + 1]
+                        : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a.get(x).equals(b.get(y))) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    depth = d;
+                    break search;
+                }
+            }
+        }
+
+        // walk the trace backwards from (n, m)
+        List<Edit> edits = new ArrayList<>();
+        int x = n;
+        int y = m;
+        for (int d = depth; d >= 0; d--) {
+            int[] prev = trace.get(d);
+            int k = x - y;
+            int prevK = (k == -d || (k != d && prev[k - 1 + d + 1] < prev[k + 1 + d + 1])) ? k + 1 : k - 1;
+            int prevX = prev[prevK + d + 1];
+            int prevY = prevX - prevK;
+
+            while (x > prevX && y > prevY) {
+                edits.add(new Edit(Type.EQUAL, lineOffset + x, lineOffset + y, a.get(x - 1)));
+                x--;
+                y--;
+            }
+            if (d > 0) {
+                if (x == prevX) {
+                    edits.add(new Edit(Type.INSERT, null, lineOffset + y, b.get(y - 1)));
+                } else {
+                    edits.add(new Edit(Type.DELETE, lineOffset + x, null, a.get(x - 1)));
+                }
+            }
+            x = prevX;
+            y = prevY;
+        }
+        Collections.reverse(edits);
+        return edits;
+    }
+
+    // Splits after each '\n', keeping the terminator, so joining the lines gives the text back
+    static List<String> lines(String text) {
+        List<String> lines = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return lines;
+        }
+        int start = 0;
+        int nl;
+        while ((nl = text.indexOf('\n', start)) >= 0) {
+            lines.add(text.substring(start, nl + 1));
+            start = nl + 1;
+        }
+        if (start < text.length()) {
+            lines.add(text.substring(start));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,124 @@
+package com.contract.demo.service;
+
+import com.contract.demo.entity.ContractStatus;
+import com.contract.demo.entity.WorkflowMapping;
+import com.contract.demo.repository.WorkflowRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contract status transitions compiled from the active workflow mappings.
+ * Reviews only read the current table; it is rebuilt and swapped as a whole
+ * whenever mappings change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkflowEngine {
+
+    // Review stage per role. An approval moves the contract to the stage of the
+    // mapped next role, or to "completed" when the role ends the workflow.
+    private static final Map<String, Stage> STAGES = Map.of(
+            "LEGAL_USER", new Stage("LEGAL_USER",
+                    ContractStatus.LEGAL_REVIEW, ContractStatus.REJECTED, null),
+            "FINANCE_REVIEWER", new Stage("FINANCE_REVIEWER",
+                    ContractStatus.FINANCE_REVIEW, ContractStatus.FINANCE_REJECTED, null),
+            "CLIENT", new Stage("CLIENT",
+                    ContractStatus.FINANCE_APPROVED, ContractStatus.CLIENT_REJECTED, ContractStatus.ACTIVE));
+
+    private static final String FIRST_ROLE = "LEGAL_USER";
+
+    private final WorkflowRepository workflowRepository;
+
+    private volatile TransitionTable table = compile(List.of());
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${workflow.refresh-interval-ms:60000}",
+            initialDelayString = "${workflow.refresh-interval-ms:60000}")
+    public void reload() {
+        table = compile(workflowRepository.findByActiveTrueOrderByIdAsc());
+    }
+
+    // Status and role of a newly created contract
+    public Transition initial() {
+        return new Transition(STAGES.get(FIRST_ROLE).pending(), FIRST_ROLE);
+    }
+
+    // Status in which contracts wait for the role's review
+    public ContractStatus pending(String reviewerRole) {
+        Stage stage = STAGES.get(reviewerRole);
+        if (stage == null) {
+            throw new InvalidTransitionException("No review stage for " + reviewerRole);
+        }
+        return stage.pending();
+    }
+
+    public Transition resolve(ContractStatus current, String reviewerRole, boolean approved) {
+
+        Rule rule = current == null ? null : table.rules().get(current);
+
+        if (rule == null || !rule.role().equals(reviewerRole)) {
+            throw new InvalidTransitionException(
+                    "Contract in status " + current + " cannot be reviewed by " + reviewerRole);
+        }
+        if (!approved) {
+            return rule.reject();
+        }
+        if (rule.approve() == null) {
+            throw new InvalidTransitionException("No active workflow mapping from " + reviewerRole);
+        }
+        return rule.approve();
+    }
+
+    // ================= COMPILATION =================
+
+    static TransitionTable compile(List<WorkflowMapping> mappings) {
+
+        // later mappings win when a role is mapped more than once
+        Map<String, String> next = new HashMap<>();
+        for (WorkflowMapping m : mappings) {
+            if (!STAGES.containsKey(m.getFromRole()) || !STAGES.containsKey(m.getToRole())) {
+                log.warn("Ignoring workflow mapping {} -> {}: unknown role", m.getFromRole(), m.getToRole());
+                continue;
+            }
+            next.put(m.getFromRole(), m.getToRole());
+        }
+
+        EnumMap<ContractStatus, Rule> rules = new EnumMap<>(ContractStatus.class);
+        for (Stage stage : STAGES.values()) {
+            String toRole = next.get(stage.role());
+
+            Transition approve = null;
+            if (toRole != null) {
+                approve = new Transition(STAGES.get(toRole).pending(), toRole);
+            } else if (stage.completed() != null) {
+                approve = new Transition(stage.completed(), stage.role());
+            }
+
+            rules.put(stage.pending(), new Rule(stage.role(), approve,
+                    new Transition(stage.rejected(), stage.role())));
+        }
+        return new TransitionTable(rules);
+    }
+
+    public record Transition(ContractStatus status, String assignedRole) {
+    }
+
+    record Stage(String role, ContractStatus pending, ContractStatus rejected, ContractStatus completed) {
+    }
+
+    record Rule(String role, Transition approve, Transition reject) {
+    }
+
+    // keyed by the status a contract waits in; never mutated after compile()
+    record TransitionTable(EnumMap<ContractStatus, Rule> rules) {
+    }
+}
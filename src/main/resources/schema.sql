@@ -0,0 +1,146 @@
+-- Runs after Hibernate's schema update (spring.jpa.defer-datasource-initialization),
+-- so every statement here must be idempotent.
+
+-- Full-text document per contract: name (A), title (B), body (C)
+create table if not exists contract_search (
+    contract_id bigint primary key references contracts (id) on delete cascade,
+    document    tsvector not null
+);
+create index if not exists idx_contract_search_document on contract_search using gin (document);
+
+-- Dashboard counters per (status, assigned role). Each key is spread over a few
+-- slots so concurrent transitions rarely wait on the same row; readers sum the slots.
+-- Slot -1 holds the corrections written by reconciliation.
+create table if not exists contract_counters (
+    status         varchar(32)    not null,
+    assigned_role  varchar(64)    not null default '',
+    slot           smallint       not null,
+    contract_count bigint         not null default 0,
+    total_amount   numeric(19, 2) not null default 0,
+    primary key (status, assigned_role, slot)
+);
+
+-- Transactional outbox: one row per applied status change, written in the
+-- transition's transaction. The relay numbers rows (seq) in the order nodes
+-- read them; rows are kept until every node has consumed them.
+create table if not exists contract_events (
+    id             bigserial   primary key,
+    contract_id    bigint      not null,
+    from_status    varchar(32),
+    to_status      varchar(32) not null,
+    from_role      varchar(64),
+    to_role        varchar(64),
+    client_user_id bigint,
+    occurred_at    timestamp   not null default now()
+);
+-- a status change, or an escalation of an overdue contract (status unchanged)
+alter table contract_events add column if not exists kind varchar(16) not null default 'STATUS_CHANGED';
+create sequence if not exists contract_events_seq;
+alter table contract_events add column if not exists seq bigint;
+create unique index if not exists idx_contract_events_seq on contract_events (seq);
+create index if not exists idx_contract_events_unsequenced on contract_events (id) where seq is null;
+
+-- How far each node has delivered contract_events to its listeners, so a node
+-- that was disconnected or restarted carries on where it stopped.
+create table if not exists contract_event_consumers (
+    node       varchar(255) primary key,
+    position   bigint       not null,
+    updated_at timestamp    not null default now()
+);
+
+-- Bulk contract imports. last_line is the checkpoint: every input line up to it
+-- is committed (as a contract or as an error row), so a resumed upload skips it.
+create table if not exists contract_imports (
+    id         varchar(36) primary key,
+    format     varchar(16) not null,
+    status     varchar(16) not null,
+    last_line  bigint      not null default 0,
+    imported   bigint      not null default 0,
+    failed     bigint      not null default 0,
+    created_by varchar(255),
+    created_at timestamp   not null default now(),
+    updated_at timestamp   not null default now()
+);
+
+create table if not exists contract_import_errors (
+    import_id varchar(36)  not null references contract_imports (id) on delete cascade,
+    line      bigint       not null,
+    message   varchar(500) not null,
+    primary key (import_id, line)
+);
+
+-- Audit hash chain. The single head row holds the last sequence number and
+-- hash; appenders lock it, so records are chained in one total order.
+create table if not exists audit_chain_head (
+    id   smallint    primary key check (id = 1),
+    seq  bigint      not null,
+    hash varchar(64) not null
+);
+insert into audit_chain_head (id, seq, hash)
+values (1, 0, '0000000000000000000000000000000000000000000000000000000000000000')
+on conflict do nothing;
+
+-- Merkle root over the record hashes of seq_from..seq_to, written once the
+-- block is full. last_hash is the chain hash at seq_to, the next block's start.
+create table if not exists audit_checkpoints (
+    seq_from   bigint      primary key,
+    seq_to     bigint      not null,
+    root       varchar(64) not null,
+    last_hash  varchar(64) not null,
+    created_at timestamp   not null default now()
+);
+
+-- The roles the path rules and default grants below refer to. Seeded here so
+-- a fresh install has them (and their grants) on its first start.
+insert into roles (name)
+select r from unnest(array['SUPER_ADMIN', 'ADMIN', 'LEGAL_USER', 'FINANCE_REVIEWER', 'CLIENT']) r
+on conflict (name) do nothing;
+
+-- Permission catalog; endpoints check these names with hasPermission.
+insert into permissions (name)
+select p from unnest(array[
+    'CREATE_USER', 'ASSIGN_ROLE', 'VIEW_USERS', 'MAP_WORKFLOW', 'MANAGE_PERMISSIONS',
+    'VIEW_CONTRACT_SUMMARY', 'VIEW_AUDIT_LOGS', 'VERIFY_AUDIT_LOGS',
+    'CREATE_CONTRACT', 'IMPORT_CONTRACTS', 'VIEW_LEGAL_CONTRACTS', 'APPROVE_LEGAL', 'AMEND_CONTRACT',
+    'APPROVE_FINANCE',
+    'VIEW_CLIENT_CONTRACTS', 'CLIENT_DECISION'
+]) p
+on conflict (name) do nothing;
+
+-- Default grants, matching the role checks they replace. Only applied while
+-- role_permissions is empty, so later changes made through the API stay.
+insert into role_permissions (role_id, permission_id)
+select r.id, p.id
+  from (values
+        ('SUPER_ADMIN', 'CREATE_USER'), ('SUPER_ADMIN', 'ASSIGN_ROLE'), ('SUPER_ADMIN', 'VIEW_USERS'),
+        ('SUPER_ADMIN', 'MAP_WORKFLOW'), ('SUPER_ADMIN', 'MANAGE_PERMISSIONS'),
+        ('SUPER_ADMIN', 'VIEW_CONTRACT_SUMMARY'), ('SUPER_ADMIN', 'VIEW_AUDIT_LOGS'),
+        ('SUPER_ADMIN', 'VERIFY_AUDIT_LOGS'),
+        ('LEGAL_USER', 'CREATE_CONTRACT'), ('LEGAL_USER', 'IMPORT_CONTRACTS'),
+        ('LEGAL_USER', 'VIEW_LEGAL_CONTRACTS'), ('LEGAL_USER', 'APPROVE_LEGAL'), ('LEGAL_USER', 'AMEND_CONTRACT'),
+        ('FINANCE_REVIEWER', 'APPROVE_FINANCE'),
+        ('CLIENT', 'VIEW_CLIENT_CONTRACTS'), ('CLIENT', 'CLIENT_DECISION')
+       ) g (role_name, permission_name)
+  join roles r on r.name = g.role_name
+  join permissions p on p.name = g.permission_name
+ where not exists (select 1 from role_permissions);
+
+-- The inbox pages on (updated_at, id): a null would sort ahead of every page
+-- and could not be written into a cursor. Also read by the backfill below.
+update contracts set updated_at = coalesce(created_at, now()) where updated_at is null;
+alter table contracts alter column updated_at set default now();
+alter table contracts alter column updated_at set not null;
+
+-- When a contract entered its current status. updated_at also moves on
+-- amendments, so it cannot tell how long a contract has waited in a stage.
+-- Rows from before the column existed take their last change as best guess.
+alter table contracts add column if not exists stage_entered_at timestamp;
+update contracts set stage_entered_at = updated_at where stage_entered_at is null;
+alter table contracts alter column stage_entered_at set default now();
+alter table contracts alter column stage_entered_at set not null;
+
+-- Escalation sweep: (status, stage_entered_at) over contracts not yet escalated
+-- in their stage, so a sweep range-scans the overdue ones and nothing else.
+drop index if exists idx_contracts_escalation;
+create index if not exists idx_contracts_stage_escalation on contracts (status, stage_entered_at, id)
+    where escalated_at is null;
@@ -0,0 +1,63 @@
+package com.contract.demo;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The whole application on a throwaway embedded PostgreSQL, started once per
+ * test JVM. Subclasses share one Spring context (and database), so tests
+ * must not depend on the tables being empty.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.main.banner-mode=off",
+        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=ERROR",
+        "audit.archive.path=target/test-audit-archive",
+        "diagnostics.query-count.enabled=true"
+})
+@AutoConfigureMockMvc
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> POSTGRES.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    /**
+     * Creates a user (password = username) with the given roles and returns
+     * its id. The roles and their default grants come from schema.sql.
+     */
+    protected long createUser(String username, String... roles) {
+        Long id = jdbc.queryForObject(
+                "insert into users (username, email, password) values (?, ?, ?) returning id",
+                Long.class, username, username + "@example.com", username);
+        for (String role : roles) {
+            jdbc.update("insert into user_roles (user_id, role_id) select ?, id from roles where name = ?", id, role);
+        }
+        return id;
+    }
+}
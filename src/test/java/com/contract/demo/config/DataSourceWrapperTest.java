@@ -0,0 +1,79 @@
+package com.contract.demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DataSourceWrapperTest {
+
+    @Test
+    void bulkheadKeepsThePoolCloseable() {
+        assertClosedWithContext(new ApplicationContextRunner()
+                .withPropertyValues("db.bulkhead.enabled=true")
+                .withUserConfiguration(DbBulkheadConfig.class));
+    }
+
+    @Test
+    void queryCounterKeepsThePoolCloseable() {
+        assertClosedWithContext(new ApplicationContextRunner()
+                .withPropertyValues("diagnostics.query-count.enabled=true")
+                .withUserConfiguration(QueryCountConfig.class));
+    }
+
+    @Test
+    void wrappersStillWrapConnections() throws Exception {
+        Pool pool = new Pool();
+        DataSource wrapped = QueryCounter.wrap(new DbBulkhead(new DbBulkheadProperties()).wrap(pool));
+
+        assertThat(wrapped).isInstanceOf(Closeable.class);
+        assertThat(Proxy.isProxyClass(wrapped.getConnection().getClass())).isTrue();
+        assertThat(wrapped.unwrap(Pool.class)).isSameAs(pool);
+    }
+
+    // the pool is only shut down if the wrapped bean still exposes close() for destroy-method inference
+    private static void assertClosedWithContext(ApplicationContextRunner runner) {
+        Pool pool = new Pool();
+        runner.withBean("dataSource", DataSource.class, () -> pool)
+                .run(context -> {
+                    DataSource bean = context.getBean(DataSource.class);
+                    assertThat(Proxy.isProxyClass(bean.getClass())).isTrue();
+                    assertThat(bean).isInstanceOf(Closeable.class);
+                    assertThat(pool.closed).hasValue(0);
+                });
+        assertThat(pool.closed).hasValue(1);
+    }
+
+    private static class Pool extends AbstractDataSource implements Closeable {
+
+        private final AtomicInteger closed = new AtomicInteger();
+
+        @Override
+        public Connection getConnection() {
+            return mock(Connection.class);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) {
+            return iface.cast(this);
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.contract.demo.controller;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.dto.CursorPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The list endpoints that predate paging return the first page; the rest
+ * must stay reachable through the X-Next-Cursor header.
+ */
+class ContractListCursorTest extends PostgresIntegrationTest {
+
+    // contracts.inbox.default-page-size
+    private static final int PAGE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String client;
+    private long clientId;
+
+    @BeforeEach
+    void client() {
+        client = "client-" + UUID.randomUUID().toString().substring(0, 8);
+        clientId = createUser(client, "CLIENT");
+    }
+
+    @Test
+    void listContinuesOnThePagedEndpoint() throws Exception {
+        insertContracts(PAGE + 3);
+
+        MockHttpServletResponse first = request("/client/contracts", 200);
+        String cursor = first.getHeader(CursorPage.NEXT_CURSOR_HEADER);
+        assertThat(cursor).isNotNull();
+        assertThat(json(first).size()).isEqualTo(PAGE);
+
+        JsonNode rest = json(request("/client/contracts/page?cursor=" + cursor, 200));
+        assertThat(rest.get("items").size()).isEqualTo(3);
+        assertThat(rest.get("nextCursor").isNull()).isTrue();
+
+        List<Long> ids = new ArrayList<>();
+        json(first).forEach(c -> ids.add(c.get("id").asLong()));
+        rest.get("items").forEach(c -> ids.add(c.get("id").asLong()));
+        assertThat(ids).doesNotHaveDuplicates().hasSize(PAGE + 3);
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        insertContracts(2);
+
+        MockHttpServletResponse response = request("/client/contracts", 200);
+
+        assertThat(json(response).size()).isEqualTo(2);
+        assertThat(response.getHeader(CursorPage.NEXT_CURSOR_HEADER)).isNull();
+    }
+
+    @Test
+    void badCursorIsABadRequest() throws Exception {
+        request("/client/contracts/page?cursor=garbage", 400);
+        // decodes as base64, but not to a (timestamp, id)
+        request("/client/contracts/page?cursor=Z2FyYmFnZQ", 400);
+    }
+
+    // ===== HELPERS =====
+
+    private MockHttpServletResponse request(String uri, int status) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(uri).with(httpBasic(client, client)))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).as("status of %s", uri).isEqualTo(status);
+        return response;
+    }
+
+    private JsonNode json(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readTree(response.getContentAsString());
+    }
+
+    private void insertContracts(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"cursor " + client + " " + i, clientId});
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into contracts (contract_name, contract_amount, status, assigned_role, client_user_id,
+                                       active, current_version, version)
+                values (?, 100.00, 'LEGAL_REVIEW', 'LEGAL_USER', ?, true, 0, 0)
+                """, rows);
+    }
+}
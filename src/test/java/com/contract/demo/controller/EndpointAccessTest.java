@@ -0,0 +1,89 @@
+package com.contract.demo.controller;
+
+import com.contract.demo.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The path rules in SecurityConfig: each area is closed to the roles that do
+ * not work in it, whatever its endpoints declare, and paths outside every
+ * area are closed to everyone.
+ */
+class EndpointAccessTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void freshInstallLetsSuperAdminManagePermissions() throws Exception {
+        // seeded by schema.sql at startup, not by the test helper
+        assertThat(jdbcTemplate.queryForObject("""
+                select count(*) from role_permissions rp
+                  join roles r on r.id = rp.role_id
+                  join permissions p on p.id = rp.permission_id
+                 where r.name = 'SUPER_ADMIN' and p.name = 'MANAGE_PERMISSIONS'
+                """, Long.class)).isEqualTo(1);
+
+        String admin = user("SUPER_ADMIN");
+        mockMvc.perform(get("/api/super-admin/roles/permissions").with(httpBasic(admin, admin)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void otherRolesCannotReachTheSuperAdminArea() throws Exception {
+        for (String role : new String[]{"LEGAL_USER", "ADMIN", "CLIENT"}) {
+            String user = user(role);
+            mockMvc.perform(get("/api/super-admin/users").with(httpBasic(user, user)))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void eventStreamIsClosedToUsersWithoutAContractRole() throws Exception {
+        String admin = user("ADMIN");
+        mockMvc.perform(get("/api/contracts/events").with(httpBasic(admin, admin)))
+                .andExpect(status().isForbidden());
+
+        String nobody = user();
+        mockMvc.perform(get("/api/contracts/events").with(httpBasic(nobody, nobody)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void reviewAreasAreClosedToTheOtherReviewers() throws Exception {
+        String legal = user("LEGAL_USER");
+        mockMvc.perform(get("/api/finance/contracts").with(httpBasic(legal, legal)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/client/contracts").with(httpBasic(legal, legal)))
+                .andExpect(status().isForbidden());
+
+        String finance = user("FINANCE_REVIEWER");
+        mockMvc.perform(get("/api/legal/contracts").with(httpBasic(finance, finance)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void pathsOutsideEveryAreaAreDenied() throws Exception {
+        String admin = user("SUPER_ADMIN");
+        mockMvc.perform(get("/api/unmapped").with(httpBasic(admin, admin)))
+                .andExpect(status().isForbidden());
+    }
+
+    private String user(String... roles) {
+        String username = "access-" + UUID.randomUUID().toString().substring(0, 8);
+        createUser(username, roles);
+        return username;
+    }
+}
@@ -0,0 +1,166 @@
+package com.contract.demo.controller;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.config.QueryCountConfig;
+import com.contract.demo.entity.AuditLog;
+import com.contract.demo.service.AuditChain;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Every list endpoint runs a fixed number of statements however many rows it
+ * returns: the same X-Query-Count for one row as for many.
+ */
+class ListEndpointQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int MANY = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditChain auditChain;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String suffix;
+    private String legal;
+    private String client;
+    private long clientId;
+    private String admin;
+
+    @BeforeEach
+    void users() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        legal = "legal-" + suffix;
+        client = "client-" + suffix;
+        admin = "admin-" + suffix;
+        createUser(legal, "LEGAL_USER");
+        clientId = createUser(client, "CLIENT");
+        createUser(admin, "SUPER_ADMIN");
+    }
+
+    @Test
+    void legalInbox() throws Exception {
+        // the inbox has no filter; take what other tests filed under LEGAL_USER out of it
+        jdbcTemplate.update("update contracts set assigned_role = 'SET_ASIDE' where assigned_role = 'LEGAL_USER'");
+        insertContracts(1, "LEGAL_REVIEW");
+        assertSameCount(legal, "/api/legal/contracts", () -> insertContracts(MANY, "LEGAL_REVIEW"));
+    }
+
+    @Test
+    void legalInboxPage() throws Exception {
+        // a status only this test files under LEGAL_USER, so the first call returns exactly one row
+        jdbcTemplate.update("delete from contracts where status = 'CLIENT_REJECTED' and assigned_role = 'LEGAL_USER'");
+        insertContracts(1, "CLIENT_REJECTED");
+        assertSameCount(legal, "/api/legal/contracts/page?status=CLIENT_REJECTED",
+                () -> insertContracts(MANY, "CLIENT_REJECTED"));
+    }
+
+    @Test
+    void clientInbox() throws Exception {
+        insertContracts(1, "LEGAL_REVIEW");
+        assertSameCount(client, "/client/contracts", () -> insertContracts(MANY, "LEGAL_REVIEW"));
+    }
+
+    @Test
+    void clientInboxPage() throws Exception {
+        insertContracts(1, "LEGAL_REVIEW");
+        assertSameCount(client, "/client/contracts/page", () -> insertContracts(MANY, "LEGAL_REVIEW"));
+    }
+
+    @Test
+    void userList() throws Exception {
+        assertSameCount(admin, "/api/super-admin/users", () -> {
+            for (int i = 0; i < MANY; i++) {
+                createUser("extra-" + suffix + "-" + i, "CLIENT", "LEGAL_USER");
+            }
+        });
+    }
+
+    @Test
+    void auditLogs() throws Exception {
+        appendAudit(1);
+        assertSameCount(admin, "/api/super-admin/audit?actor=" + admin, () -> appendAudit(MANY));
+    }
+
+    // ===== HELPERS =====
+
+    private void assertSameCount(String username, String uri, Runnable addRows) throws Exception {
+        // the first request also loads the principal, which is then cached
+        request(username, uri);
+
+        MockHttpServletResponse few = request(username, uri);
+        addRows.run();
+        MockHttpServletResponse many = request(username, uri);
+
+        assertThat(rows(many)).as("rows returned by %s", uri).isGreaterThan(rows(few));
+        assertThat(queryCount(many)).as("statements run by %s", uri).isEqualTo(queryCount(few));
+    }
+
+    private MockHttpServletResponse request(String username, String uri) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(uri).with(httpBasic(username, username)))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).as("status of %s", uri).isEqualTo(200);
+        return response;
+    }
+
+    private static int queryCount(MockHttpServletResponse response) {
+        String header = response.getHeader(QueryCountConfig.HEADER);
+        assertThat(header).isNotNull();
+        return Integer.parseInt(header);
+    }
+
+    private int rows(MockHttpServletResponse response) throws Exception {
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        return body.isArray() ? body.size() : body.get("items").size();
+    }
+
+    private void insertContracts(int count, String status) {
+        jdbcTemplate.batchUpdate("""
+                insert into contracts (contract_name, contract_amount, status, assigned_role, client_user_id,
+                                       active, current_version, version)
+                values (?, 100.00, ?, 'LEGAL_USER', ?, true, 0, 0)
+                """, contractRows(count, status));
+    }
+
+    private List<Object[]> contractRows(int count, String status) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"query count " + suffix + " " + i, status, clientId});
+        }
+        return rows;
+    }
+
+    private void appendAudit(int count) {
+        List<AuditLog> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AuditLog row = new AuditLog();
+            row.setAction("TEST");
+            row.setActor(admin);
+            row.setDetails("query count " + i);
+            row.setTimestamp(LocalDateTime.now());
+            rows.add(row);
+        }
+        auditChain.append(rows);
+    }
+}
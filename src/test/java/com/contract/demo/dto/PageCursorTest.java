@@ -0,0 +1,62 @@
+package com.contract.demo.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void roundTrips() {
+        for (LocalDateTime timestamp : List.of(
+                LocalDateTime.of(2026, 1, 1, 12, 0),                 // printed without seconds
+                LocalDateTime.of(2026, 1, 1, 12, 0, 30),
+                LocalDateTime.of(2026, 1, 1, 12, 0, 30, 123_456_000), // Postgres keeps microseconds
+                LocalDateTime.of(2026, 12, 31, 23, 59, 59, 999_999_999))) {
+            for (long id : new long[]{1, 42, Long.MAX_VALUE}) {
+                PageCursor cursor = new PageCursor(timestamp, id);
+                assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+            }
+        }
+    }
+
+    @Test
+    void tokenIsSafeInAQueryString() {
+        String token = new PageCursor(LocalDateTime.of(2026, 3, 4, 5, 6, 7, 890_000), 1234567L).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void noTokenIsTheFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("")).isNull();
+        assertThat(PageCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void rejectsTokensItDidNotIssue() {
+        for (String token : List.of(
+                "not base64!",
+                encoded("no separator"),
+                encoded("yesterday|5"),
+                encoded("2026-01-01T12:00|five"),
+                encoded("2026-01-01T12:00|"),
+                encoded("|5"))) {
+            assertThatThrownBy(() -> PageCursor.decode(token))
+                    .as(token)
+                    .isInstanceOf(InvalidCursorException.class)
+                    .hasMessageContaining(token);
+        }
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+package com.contract.demo.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeflateTextConverterTest {
+
+    private final DeflateTextConverter converter = new DeflateTextConverter();
+
+    @Test
+    void roundTrips() {
+        assertRoundTrip("");
+        assertRoundTrip("a");
+        assertRoundTrip("Clause 1.\nThe parties agree.\n");
+        assertRoundTrip("Preis: 1.000 €, Menge: 3 Stück — 契約 📝");
+    }
+
+    @Test
+    void nullStaysNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    // both directions work in 4 KB steps
+    @Test
+    void roundTripsTextLargerThanTheBuffers() {
+        StringBuilder prose = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            prose.append("Clause ").append(i).append(": the supplier shall deliver the goods on time.\n");
+        }
+        byte[] stored = assertRoundTrip(prose.toString());
+        assertThat(stored.length).isLessThan(prose.length() / 3);
+
+        // barely compressible: the deflated form is larger than the buffers too
+        Random random = new Random(7);
+        char[] noise = new char[20_000];
+        for (int i = 0; i < noise.length; i++) {
+            noise[i] = (char) (' ' + random.nextInt(95));
+        }
+        assertRoundTrip(new String(noise));
+    }
+
+    @Test
+    void corruptDataFails() {
+        byte[] garbage = "not deflate at all".getBytes(StandardCharsets.UTF_8);
+        garbage[0] = (byte) 0xff;
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(garbage))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void truncatedDataFails() {
+        byte[] stored = converter.convertToDatabaseColumn("Clause 1.\n".repeat(200));
+        byte[] truncated = Arrays.copyOf(stored, stored.length / 2);
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(truncated))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    private byte[] assertRoundTrip(String text) {
+        byte[] stored = converter.convertToDatabaseColumn(text);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+        return stored;
+    }
+}
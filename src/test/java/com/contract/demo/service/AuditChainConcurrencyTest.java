@@ -0,0 +1,97 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.dto.AuditVerificationReport;
+import com.contract.demo.entity.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditChainConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 4;
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private AuditChain chain;
+
+    @Autowired
+    private AuditChainVerifier verifier;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentAppendsKeepTheChainValid() throws Exception {
+        runConcurrently(thread -> chain.append(rows("direct-" + thread, 3)));
+
+        assertValid(verifier.verify());
+    }
+
+    // the writer's caller-runs path: appends from afterCommit of a finished business transaction
+    @Test
+    void appendsFromAfterCommitKeepTheChainValid() throws Exception {
+        runConcurrently(thread -> transactionTemplate.executeWithoutResult(status ->
+                TransactionCallbacks.afterCommit(() -> chain.append(rows("after-commit-" + thread, 1)))));
+
+        assertValid(verifier.verify());
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ROUNDS; i++) {
+                        task.run(thread);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<AuditLog> rows(String actor, int count) {
+        List<AuditLog> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AuditLog row = new AuditLog();
+            row.setAction("TEST");
+            row.setActor(actor);
+            row.setDetails("record " + i);
+            row.setTimestamp(LocalDateTime.now());
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static void assertValid(AuditVerificationReport report) {
+        assertThat(report.getFailures()).isEmpty();
+        assertThat(report.isValid()).isTrue();
+        assertThat(report.getHeadSeq()).isPositive();
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
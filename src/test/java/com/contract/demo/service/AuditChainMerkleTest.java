@@ -0,0 +1,124 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.AuditProof.ProofStep;
+import com.contract.demo.entity.AuditLog;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditChainMerkleTest {
+
+    @Test
+    void everyPathLeadsToTheRoot() {
+        // powers of two and the odd sizes in between, where a last node moves up unpaired
+        for (int size = 1; size <= 33; size++) {
+            List<String> hashes = hashes(size);
+            String root = AuditChain.root(hashes);
+            int maxDepth = 32 - Integer.numberOfLeadingZeros(size - 1);
+
+            for (int i = 0; i < size; i++) {
+                List<ProofStep> path = AuditChain.path(hashes, i);
+                assertThat(path).as("size %d, leaf %d", size, i).hasSizeLessThanOrEqualTo(maxDepth);
+                assertThat(AuditChain.root(hashes.get(i), path)).as("size %d, leaf %d", size, i).isEqualTo(root);
+            }
+        }
+    }
+
+    @Test
+    void aSingleRecordIsItsOwnLeaf() {
+        List<String> hashes = hashes(1);
+
+        assertThat(AuditChain.path(hashes, 0)).isEmpty();
+        assertThat(AuditChain.root(hashes)).isEqualTo(AuditChain.root(hashes.get(0), List.of()))
+                // leaves are hashed with a prefix, so the root is not the record hash itself
+                .isNotEqualTo(hashes.get(0));
+    }
+
+    @Test
+    void aChangedRecordOrOrderChangesTheRoot() {
+        List<String> hashes = hashes(8);
+        String root = AuditChain.root(hashes);
+
+        List<String> tampered = new ArrayList<>(hashes);
+        tampered.set(5, AuditChain.hash(AuditChain.GENESIS, row(99, "tampered")));
+        assertThat(AuditChain.root(tampered)).isNotEqualTo(root);
+
+        List<String> swapped = new ArrayList<>(hashes);
+        swapped.set(2, hashes.get(3));
+        swapped.set(3, hashes.get(2));
+        assertThat(AuditChain.root(swapped)).isNotEqualTo(root);
+    }
+
+    @Test
+    void aProofDoesNotVerifyAnotherRecordOrSide() {
+        List<String> hashes = hashes(8);
+        String root = AuditChain.root(hashes);
+        List<ProofStep> path = AuditChain.path(hashes, 2);
+
+        assertThat(AuditChain.root(hashes.get(3), path)).isNotEqualTo(root);
+
+        List<ProofStep> flipped = new ArrayList<>(path);
+        ProofStep first = flipped.get(0);
+        flipped.set(0, new ProofStep(first.getHash(), !first.isLeft()));
+        assertThat(AuditChain.root(hashes.get(2), flipped)).isNotEqualTo(root);
+    }
+
+    // an inner node's value must not be usable as a leaf (second preimage)
+    @Test
+    void anInnerNodeIsNotALeaf() {
+        List<String> hashes = hashes(4);
+        String root = AuditChain.root(hashes);
+        List<ProofStep> path = AuditChain.path(hashes, 0);
+
+        String leftPair = HexFormat.of().formatHex(innerNode(hashes.get(0), hashes.get(1)));
+        assertThat(AuditChain.root(leftPair, path.subList(1, path.size()))).isNotEqualTo(root);
+    }
+
+    @Test
+    void hashCoversEveryField() {
+        AuditLog row = row(1, "details");
+        String hash = AuditChain.hash(AuditChain.GENESIS, row);
+
+        assertThat(AuditChain.hash(AuditChain.GENESIS, row(1, "details"))).isEqualTo(hash);
+        assertThat(AuditChain.hash(AuditChain.GENESIS, row(1, "detailz"))).isNotEqualTo(hash);
+        assertThat(AuditChain.hash(AuditChain.GENESIS, row(2, "details"))).isNotEqualTo(hash);
+        assertThat(AuditChain.hash(hash, row)).isNotEqualTo(hash);
+
+        // moving a character across a field boundary changes the hash
+        AuditLog shifted = row(1, "details");
+        shifted.setActor(row.getActor() + "T");
+        shifted.setAction(row.getAction().substring(1));
+        assertThat(AuditChain.hash(AuditChain.GENESIS, shifted)).isNotEqualTo(hash);
+    }
+
+    private static byte[] innerNode(String left, String right) {
+        List<String> pair = List.of(left, right);
+        return HexFormat.of().parseHex(AuditChain.root(pair));
+    }
+
+    private static List<String> hashes(int count) {
+        List<String> hashes = new ArrayList<>(count);
+        String previous = AuditChain.GENESIS;
+        for (int i = 1; i <= count; i++) {
+            previous = AuditChain.hash(previous, row(i, "record " + i));
+            hashes.add(previous);
+        }
+        return hashes;
+    }
+
+    private static AuditLog row(long seq, String details) {
+        AuditLog row = new AuditLog();
+        row.setId(1000 + seq);
+        row.setSeq(seq);
+        row.setAction("TEST");
+        row.setActor("tester");
+        row.setDetails(details);
+        row.setTimestamp(LocalDateTime.of(2026, 1, 1, 12, 0).plusSeconds(seq));
+        return row;
+    }
+}
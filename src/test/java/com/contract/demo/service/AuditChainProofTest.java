@@ -0,0 +1,84 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.config.AuditChainProperties;
+import com.contract.demo.dto.AuditProof;
+import com.contract.demo.entity.AuditLog;
+import com.contract.demo.repository.AuditChainRepository;
+import com.contract.demo.repository.AuditChainRepository.Checkpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditChainProofTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AuditChain chain;
+
+    @Autowired
+    private AuditChainVerifier verifier;
+
+    @Autowired
+    private AuditChainRepository repository;
+
+    @Autowired
+    private AuditChainProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Checkpoint checkpoint;
+
+    @BeforeEach
+    void fillABlock() {
+        List<AuditLog> rows = new ArrayList<>();
+        for (int i = 0; i < properties.getCheckpointSize(); i++) {
+            AuditLog row = new AuditLog();
+            row.setAction("TEST");
+            row.setActor("prover");
+            row.setDetails("record " + i);
+            row.setTimestamp(LocalDateTime.now());
+            rows.add(row);
+        }
+        chain.append(rows);
+        checkpoint = repository.findLastCheckpoint().orElseThrow();
+    }
+
+    @Test
+    void everyPositionInTheBlockProves() {
+        for (long seq : new long[]{checkpoint.seqFrom(), checkpoint.seqFrom() + 1,
+                (checkpoint.seqFrom() + checkpoint.seqTo()) / 2, checkpoint.seqTo()}) {
+            AuditProof proof = verifier.prove(seq);
+
+            assertThat(proof.isValid()).as("seq %d", seq).isTrue();
+            assertThat(proof.getRecord().getSeq()).isEqualTo(seq);
+            assertThat(proof.getRoot()).isEqualTo(checkpoint.root());
+            assertThat(AuditChain.root(proof.getRecordHash(), proof.getPath())).isEqualTo(checkpoint.root());
+        }
+    }
+
+    @Test
+    void aChangedRecordDoesNotProve() {
+        long seq = checkpoint.seqFrom() + 7;
+        // the block may start with other tests' records; put back exactly what was there
+        String details = jdbcTemplate.queryForObject("select details from audit_logs where seq = ?", String.class, seq);
+        jdbcTemplate.update("update audit_logs set details = 'rewritten' where seq = ?", seq);
+        try {
+            AuditProof proof = verifier.prove(seq);
+
+            assertThat(proof.isValid()).isFalse();
+            assertThat(proof.getRecordHash()).isNotEqualTo(proof.getRecord().getHash());
+            // a neighbour's proof uses only the stored hashes, so it still holds
+            assertThat(verifier.prove(seq + 1).isValid()).isTrue();
+        } finally {
+            jdbcTemplate.update("update audit_logs set details = ? where seq = ?", details, seq);
+        }
+    }
+}
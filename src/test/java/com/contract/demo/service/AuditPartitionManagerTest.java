@@ -0,0 +1,220 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.config.AuditArchiveProperties;
+import com.contract.demo.config.AuditChainProperties;
+import com.contract.demo.dto.AuditLogQuery;
+import com.contract.demo.entity.AuditLog;
+import com.contract.demo.repository.AuditChainRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditPartitionManagerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AuditPartitionManager partitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditChain chain;
+
+    @Autowired
+    private AuditArchive archive;
+
+    @Autowired
+    private AuditArchiveProperties archiveProperties;
+
+    @Autowired
+    private AuditQueryService queryService;
+
+    @Autowired
+    private AuditChainVerifier verifier;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditChainRepository chainRepository;
+
+    @Autowired
+    private AuditChainProperties chainProperties;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void recordsOutsideEveryMonthLandInTheDefaultPartitionUntilTheirMonthIsCreated() {
+        YearMonth farAhead = YearMonth.now().plusYears(5);
+        String table = "audit_logs_" + farAhead.getYear() + "_" + String.format("%02d", farAhead.getMonthValue());
+        Timestamp at = Timestamp.valueOf(farAhead.atDay(3).atTime(12, 0));
+        try {
+            // no partition covers the month yet; the insert must not fail
+            jdbcTemplate.update("insert into audit_logs (action, actor, details, timestamp) values ('TEST', 'skewed', 'x', ?)",
+                    at);
+            assertThat(rows("audit_logs_default", at)).isEqualTo(1);
+
+            // the default partition is a child too, and must not break the month listing
+            assertThat(partitionManager.liveMonths()).doesNotContain(farAhead).contains(YearMonth.now());
+
+            partitionManager.maintain();
+
+            assertThat(partitionManager.liveMonths()).contains(farAhead);
+            assertThat(rows(table, at)).isEqualTo(1);
+            assertThat(rows("audit_logs_default", at)).isZero();
+        } finally {
+            jdbcTemplate.update("delete from audit_logs where timestamp = ?", at);
+            jdbcTemplate.execute("drop table if exists " + table);
+        }
+    }
+
+    @Test
+    void oldMonthsMoveToTheArchiveAndEveryNodeSeesThem() throws Exception {
+        YearMonth month = YearMonth.now().minusYears(6);
+        // the archive directory outlives the embedded database; drop what an earlier run left
+        Files.deleteIfExists(segmentFile(month, ".idx.json"));
+        Files.deleteIfExists(segmentFile(month, ".seg"));
+
+        // another node sharing the directory, started before the month is archived
+        AuditArchive otherNode = new AuditArchive(archiveProperties, objectMapper);
+        assertThat(otherNode.index(month)).isNull();
+
+        String actor = "archived-" + UUID.randomUUID().toString().substring(0, 8);
+        chain.append(rows(actor, month, 5));
+
+        partitionManager.maintain();
+
+        assertThat(partitionManager.liveMonths()).doesNotContain(month);
+        assertThat(Files.exists(segmentFile(month, ".seg"))).isTrue();
+
+        AuditLogQuery query = new AuditLogQuery();
+        query.setActor(actor);
+        assertThat(queryService.search(query).getItems()).hasSize(5);
+
+        // the other node finds the month without a restart, and will not write it again
+        assertThat(otherNode.index(month)).isNotNull();
+        try (var rows = otherNode.read(query, null, Set.of())) {
+            assertThat(rows.map(AuditLog::getDetails)).containsExactly("record 4", "record 3", "record 2",
+                    "record 1", "record 0");
+        }
+        assertThatThrownBy(() -> otherNode.open(month)).isInstanceOf(IllegalStateException.class);
+
+        // archived records still verify against their checkpoints
+        assertThat(verifier.verify().getFailures()).isEmpty();
+    }
+
+    // the chain head must not stay locked while a month is streamed into its segment
+    @Test
+    void appendsDoNotWaitForTheSegmentWrite() throws Exception {
+        YearMonth month = YearMonth.now().minusYears(8);
+        String table = "audit_logs_" + month.getYear() + "_" + String.format("%02d", month.getMonthValue());
+        Files.deleteIfExists(segmentFile(month, ".idx.json"));
+        Files.deleteIfExists(segmentFile(month, ".seg"));
+        jdbcTemplate.execute("create table " + table + " partition of audit_logs for values from ('"
+                + month.atDay(1) + "') to ('" + month.plusMonths(1).atDay(1) + "')");
+        String actor = "slow-archive-" + UUID.randomUUID().toString().substring(0, 8);
+        chain.append(rows(actor, month, 3));
+        // a checkpoint reads every partition, the locked one too; keep the append below from filling a block
+        fillBlockIfNextAppendWould();
+
+        CompletableFuture<Void> maintain;
+        try (Connection blocker = dataSource.getConnection()) {
+            // holds the archive at the first read of the month, as a long segment write would
+            blocker.setAutoCommit(false);
+            try (Statement st = blocker.createStatement()) {
+                st.execute("lock table " + table + " in access exclusive mode");
+            }
+            maintain = CompletableFuture.runAsync(partitionManager::maintain);
+            waitForLockWaiter(table);
+
+            CompletableFuture<Void> append = CompletableFuture.runAsync(() ->
+                    chain.append(rows(actor, YearMonth.now(), 1)));
+            append.get(10, TimeUnit.SECONDS);
+
+            blocker.rollback();
+        }
+        maintain.get(30, TimeUnit.SECONDS);
+
+        assertThat(partitionManager.liveMonths()).doesNotContain(month);
+        assertThat(archive.index(month).count()).isEqualTo(3);
+    }
+
+    @Test
+    void aSegmentWithoutItsIndexIsNeverOverwritten() throws Exception {
+        YearMonth month = YearMonth.now().minusYears(7);
+        Path segment = segmentFile(month, ".seg");
+        Files.write(segment, new byte[]{1, 2, 3});
+        try {
+            assertThat(archive.index(month)).isNull();
+            assertThatThrownBy(() -> archive.open(month)).isInstanceOf(IllegalStateException.class);
+            assertThat(Files.readAllBytes(segment)).containsExactly(1, 2, 3);
+        } finally {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    private void fillBlockIfNextAppendWould() {
+        long from = chainRepository.findLastCheckpoint().map(c -> c.seqTo() + 1).orElse(1L);
+        long pending = chainRepository.findHead().seq() - from + 1;
+        long missing = chainProperties.getCheckpointSize() - pending;
+        if (missing <= 1) {
+            chain.append(rows("filler", YearMonth.now(), (int) missing));
+        }
+    }
+
+    private void waitForLockWaiter(String table) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            Long waiting = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_locks where relation = to_regclass(?) and not granted", Long.class, table);
+            if (waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("The archive job never reached " + table);
+    }
+
+    private Path segmentFile(YearMonth month, String suffix) {
+        return archiveProperties.getPath().resolve("audit-" + month + suffix);
+    }
+
+    private static List<AuditLog> rows(String actor, YearMonth month, int count) {
+        List<AuditLog> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AuditLog row = new AuditLog();
+            row.setAction("TEST");
+            row.setActor(actor);
+            row.setDetails("record " + i);
+            row.setTimestamp(month.equals(YearMonth.now()) ? LocalDateTime.now()
+                    : month.atDay(10).atTime(9, 0).plusMinutes(i));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private long rows(String table, Timestamp at) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where timestamp = ?", Long.class, at);
+    }
+}
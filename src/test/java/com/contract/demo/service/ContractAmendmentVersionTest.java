@@ -0,0 +1,88 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.entity.ContractAmendment;
+import com.contract.demo.repository.ContractAmendmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ContractAmendmentVersionTest extends PostgresIntegrationTest {
+
+    // contracts.amendments.snapshot-interval is 10: versions 1 and 11 are snapshots
+    private static final int VERSIONS = 14;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContractAmendmentRepository amendmentRepository;
+
+    @Test
+    void everyVersionRebuildsAcrossTheSnapshotBoundary() throws Exception {
+        String legal = "legal-" + UUID.randomUUID().toString().substring(0, 8);
+        createUser(legal, "LEGAL_USER");
+        long contractId = jdbcTemplate.queryForObject("""
+                insert into contracts (contract_name, status, assigned_role, active, current_version, version)
+                values ('amended', 'LEGAL_REVIEW', 'LEGAL_USER', true, 0, 0)
+                returning id
+                """, Long.class);
+
+        // long enough that a one-line change is stored as a delta
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            lines.add("clause " + i + ": the parties agree to the terms set out in schedule " + i + "\n");
+        }
+        List<String> texts = new ArrayList<>();
+        for (int v = 1; v <= VERSIONS; v++) {
+            if (v > 1) {
+                lines.set(v * 7 % lines.size(), "clause amended in version " + v + "\n");
+                if (v % 3 == 0) {
+                    lines.add("clause added in version " + v + "\n");
+                }
+            }
+            String text = String.join("", lines);
+            texts.add(text);
+            mockMvc.perform(post("/api/legal/contracts/{id}/amendments", contractId)
+                            .with(httpBasic(legal, legal))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("content", text))))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(amendmentRepository.findByContractIdAndVersionBetweenOrderByVersionAsc(contractId, 1, VERSIONS))
+                .filteredOn(ContractAmendment::isSnapshot)
+                .extracting(ContractAmendment::getVersion)
+                .containsExactly(1, 11);
+
+        for (int v = 1; v <= VERSIONS; v++) {
+            String body = mockMvc.perform(get("/api/legal/contracts/{id}/versions/{v}", contractId, v)
+                            .with(httpBasic(legal, legal)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(objectMapper.readTree(body).get("content").asText())
+                    .as("version %d", v)
+                    .isEqualTo(texts.get(v - 1));
+        }
+    }
+}
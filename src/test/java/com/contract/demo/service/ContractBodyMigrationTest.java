@@ -0,0 +1,100 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.entity.DeflateTextConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContractBodyMigrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final DeflateTextConverter converter = new DeflateTextConverter();
+
+    @Test
+    void copiesOnEveryStartAndDropsOnlyWhenAsked() throws Exception {
+        // the column as an install from before contract_bodies has it
+        jdbcTemplate.execute("alter table contracts add column if not exists content text");
+        long plain = insertContract("first text");
+        long empty = insertContract("");
+        long none = insertContract(null);
+        long copied = insertContract("legacy text");
+        jdbcTemplate.update("insert into contract_bodies (contract_id, content, content_length) values (?, ?, ?)",
+                copied, converter.convertToDatabaseColumn("amended text"), 12);
+
+        // two new nodes starting together, with old nodes still running
+        runConcurrently(false, 2);
+        runConcurrently(false, 1);
+
+        assertThat(legacyColumnExists()).isTrue();
+        assertThat(body(plain)).isEqualTo("first text");
+        assertThat(body(empty)).isEmpty();
+        assertThat(body(none)).isNull();
+        assertThat(body(copied)).as("a body already copied is kept").isEqualTo("amended text");
+
+        // written by an old node after the copy, then the explicit drop after the rollout
+        long late = insertContract("late text");
+        runConcurrently(true, 2);
+
+        assertThat(legacyColumnExists()).isFalse();
+        assertThat(body(late)).isEqualTo("late text");
+
+        // every later start is a no-op
+        runConcurrently(true, 1);
+    }
+
+    private void runConcurrently(boolean drop, int nodes) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                ContractBodyMigration migration = new ContractBodyMigration(jdbcTemplate, transactionTemplate);
+                ReflectionTestUtils.setField(migration, "dropLegacyColumn", drop);
+                futures.add(executor.submit(() -> migration.run(new DefaultApplicationArguments())));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long insertContract(String content) {
+        return jdbcTemplate.queryForObject("""
+                insert into contracts (contract_name, contract_amount, status, assigned_role,
+                                       active, current_version, version, content)
+                values ('body migration', 100.00, 'LEGAL_REVIEW', 'LEGAL_USER', true, 0, 0, ?)
+                returning id
+                """, Long.class, content);
+    }
+
+    private String body(long contractId) {
+        List<byte[]> rows = jdbcTemplate.queryForList(
+                "select content from contract_bodies where contract_id = ?", byte[].class, contractId);
+        return rows.isEmpty() ? null : converter.convertToEntityAttribute(rows.get(0));
+    }
+
+    private boolean legacyColumnExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                select exists (select 1 from information_schema.columns
+                                where table_name = 'contracts' and column_name = 'content')
+                """, Boolean.class));
+    }
+}
@@ -0,0 +1,139 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.dto.ContractResponse;
+import com.contract.demo.dto.ContractSummaryResponse;
+import com.contract.demo.dto.CreateContractRequest;
+import com.contract.demo.entity.ContractStatus;
+import com.contract.demo.repository.ContractCounterRepository;
+import com.contract.demo.repository.ContractCounterRepository.Delta;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContractCounterReconcileTest extends PostgresIntegrationTest {
+
+    private static final int WRITERS = 4;
+    private static final int ROUNDS = 60;
+
+    @Autowired
+    private ContractCounterService counterService;
+
+    @Autowired
+    private ContractCounterRepository counterRepository;
+
+    @Autowired
+    private LegalUserService legalUserService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void mirrorStaysExactWhileReconcilingConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger written = new AtomicInteger();
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < WRITERS; t++) {
+                int writer = t;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ROUNDS; i++) {
+                        create("counter-" + writer + "-" + i, ContractStatus.LEGAL_REVIEW, "LEGAL_USER",
+                                new BigDecimal("10.25"));
+                        written.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            // stops while writes are still running, so the last reconciliation cannot mask what an earlier one lost
+            Future<?> reconciler = executor.submit(() -> {
+                start.await();
+                while (written.get() < WRITERS * ROUNDS * 3 / 4) {
+                    counterService.reconcile();
+                }
+                return null;
+            });
+
+            start.countDown();
+            reconciler.get();
+            for (Future<?> f : writers) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertMatchesContracts(counterService.summary());
+    }
+
+    @Test
+    void reconcileCorrectsDriftWithoutCountingItTwice() {
+        // a contract the counters never heard of
+        transactionTemplate.executeWithoutResult(status -> insert("uncounted", ContractStatus.FINANCE_REVIEW,
+                "FINANCE_REVIEWER", new BigDecimal("99.99")));
+
+        counterService.reconcile();
+        assertMatchesContracts(counterService.summary());
+        assertThat(totalCount(counterRepository.findTotals())).isEqualTo(totalCount(counterRepository.countContracts()));
+
+        counterService.reconcile();
+        assertMatchesContracts(counterService.summary());
+    }
+
+    // more than two decimals used to fail in afterCommit, after the contract was saved
+    @Test
+    void createdAmountsAreRoundedToCents() {
+        CreateContractRequest request = new CreateContractRequest();
+        request.setContractName("fractional cents");
+        request.setContractAmount(new BigDecimal("10.005"));
+        // other tests write contracts directly
+        counterService.reconcile();
+
+        ContractResponse response = legalUserService.createContract(request);
+
+        assertThat(response.getContractAmount()).isEqualByComparingTo("10.01");
+        assertMatchesContracts(counterService.summary());
+    }
+
+    private void create(String name, ContractStatus status, String role, BigDecimal amount) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            insert(name, status, role, amount);
+            counterService.created(status, role, amount);
+        });
+    }
+
+    private void insert(String name, ContractStatus status, String role, BigDecimal amount) {
+        jdbcTemplate.update("""
+                insert into contracts (contract_name, contract_amount, status, assigned_role, current_version, version)
+                values (?, ?, ?, ?, 0, 0)
+                """, name, amount, status.name(), role);
+    }
+
+    private void assertMatchesContracts(ContractSummaryResponse summary) {
+        List<Delta> truth = counterRepository.countContracts();
+        assertThat(summary.getTotalCount()).isEqualTo(totalCount(truth));
+        assertThat(summary.getTotalAmount()).isEqualByComparingTo(
+                truth.stream().map(Delta::amount).reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    private static long totalCount(List<Delta> deltas) {
+        return deltas.stream().mapToLong(Delta::count).sum();
+    }
+}
@@ -0,0 +1,74 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.repository.ContractRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ContractEscalationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ContractEscalationService escalationService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // LEGAL_REVIEW has a 72h SLA
+    @Test
+    void amendmentsDoNotRestartTheStageClock() throws Exception {
+        String legal = "legal-" + UUID.randomUUID().toString().substring(0, 8);
+        createUser(legal, "LEGAL_USER");
+        LocalDateTime now = LocalDateTime.now();
+
+        long waiting = insert(now.minusHours(80), now.minusHours(80));
+        mockMvc.perform(post("/api/legal/contracts/{id}/amendments", waiting)
+                        .with(httpBasic(legal, legal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\": \"amended while waiting\"}"))
+                .andExpect(status().isOk());
+
+        // changed long ago, but only just moved into the stage
+        long justArrived = insert(now.minusHours(1), now.minusHours(80));
+
+        assertThat(contractRepository.findStateById(waiting).orElseThrow().getStageEnteredAt())
+                .isBefore(now.minusHours(72));
+
+        escalationService.sweep();
+
+        assertThat(escalated(waiting)).isTrue();
+        assertThat(escalated(justArrived)).isFalse();
+    }
+
+    private long insert(LocalDateTime stageEnteredAt, LocalDateTime updatedAt) {
+        return jdbcTemplate.queryForObject("""
+                insert into contracts (contract_name, status, assigned_role, active, current_version, version,
+                                       created_at, updated_at, stage_entered_at)
+                values ('escalation', 'LEGAL_REVIEW', 'LEGAL_USER', true, 0, 0, ?, ?, ?)
+                returning id
+                """, Long.class, Timestamp.valueOf(stageEnteredAt), Timestamp.valueOf(updatedAt),
+                Timestamp.valueOf(stageEnteredAt));
+    }
+
+    private boolean escalated(long id) {
+        return jdbcTemplate.queryForObject("select escalated_at is not null from contracts where id = ?",
+                Boolean.class, id);
+    }
+}
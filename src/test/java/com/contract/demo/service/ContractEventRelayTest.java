@@ -0,0 +1,124 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.entity.ContractStatus;
+import com.contract.demo.repository.ContractEscalationRepository.Overdue;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ContractEventRelayTest extends PostgresIntegrationTest {
+
+    private static final long CONTRACT_ID = 987_654_321L;
+
+    @Autowired
+    private ContractEventOutbox eventOutbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSourceProperties dataSource;
+
+    @Test
+    void relayedEventsReachSubscribersOnEveryNode() throws Exception {
+        String admin = "admin-" + UUID.randomUUID().toString().substring(0, 8);
+        createUser(admin, "SUPER_ADMIN");
+
+        MvcResult stream = mockMvc.perform(get("/api/contracts/events").with(httpBasic(admin, admin)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // what another node's channel would see
+        try (Connection otherNode = DriverManager.getConnection(dataSource.determineUrl(),
+                dataSource.determineUsername(), dataSource.determinePassword())) {
+            try (Statement statement = otherNode.createStatement()) {
+                statement.execute("listen " + ContractEventChannel.CHANNEL);
+            }
+
+            transactionTemplate.executeWithoutResult(tx -> eventOutbox.recordEscalated(List.of(
+                    new Overdue(CONTRACT_ID, ContractStatus.LEGAL_REVIEW, "LEGAL_USER", null, LocalDateTime.now()))));
+            eventOutbox.relay();
+
+            assertThat(jdbcTemplate.queryForObject(
+                    "select count(*) from contract_events where contract_id = ? and seq is null",
+                    Long.class, CONTRACT_ID)).as("relayed").isZero();
+            // a wake-up; the other node then reads the event from the table
+            PGNotification[] notifications = otherNode.unwrap(PGConnection.class).getNotifications(10_000);
+            assertThat(notifications).isNotEmpty();
+        }
+
+        String received = awaitContent(stream.getResponse(), "\"contractId\":" + CONTRACT_ID);
+        assertThat(received).contains("event:contract-escalated");
+    }
+
+    @Test
+    void eventsRelayedWhileTheChannelIsDownArriveAfterReconnect() throws Exception {
+        long contractId = CONTRACT_ID + 1;
+        String admin = "admin-" + UUID.randomUUID().toString().substring(0, 8);
+        createUser(admin, "SUPER_ADMIN");
+        MvcResult stream = mockMvc.perform(get("/api/contracts/events").with(httpBasic(admin, admin)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // the node's listening connection drops; it reconnects a few seconds later
+        assertThat(jdbcTemplate.queryForList("""
+                select pg_terminate_backend(pid) from pg_stat_activity
+                 where query = 'listen ' || ? and pid <> pg_backend_pid()
+                """, Boolean.class, ContractEventChannel.CHANNEL)).contains(true);
+
+        transactionTemplate.executeWithoutResult(tx -> eventOutbox.recordEscalated(List.of(
+                new Overdue(contractId, ContractStatus.LEGAL_REVIEW, "LEGAL_USER", null, LocalDateTime.now()))));
+        eventOutbox.relay();
+        long seq = jdbcTemplate.queryForObject("select seq from contract_events where contract_id = ?",
+                Long.class, contractId);
+
+        awaitContent(stream.getResponse(), "\"contractId\":" + contractId);
+
+        // consumed by the only node, so the next prune drops it
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (jdbcTemplate.queryForObject("select max(position) from contract_event_consumers", Long.class) < seq
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        eventOutbox.prune();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from contract_events where seq <= ?",
+                Long.class, seq)).isZero();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            content = response.getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
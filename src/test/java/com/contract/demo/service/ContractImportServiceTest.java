@@ -0,0 +1,304 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.dto.ContractImportFormat;
+import com.contract.demo.dto.ContractImportResponse;
+import com.contract.demo.dto.ContractImportResponse.ContractImportStatus;
+import com.contract.demo.dto.ContractImportResponse.RowError;
+import com.contract.demo.repository.ContractImportRepository;
+import com.contract.demo.service.WorkflowEngine.Transition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContractImportServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ContractImportRepository importRepository;
+
+    @Autowired
+    private ContractSearchService searchService;
+
+    @Autowired
+    private ContractCounterService counterService;
+
+    @Autowired
+    private WorkflowEngine workflowEngine;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ContractImportService importService;
+    private String prefix;
+
+    @BeforeEach
+    void service() {
+        importService = new ContractImportService(importRepository, searchService, counterService,
+                workflowEngine, transactionTemplate, objectMapper);
+        // two rows per transaction, so a short file spans several checkpoints
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 1000);
+        prefix = "import-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void interruptedCsvImportResumesFromItsCheckpoint() {
+        String csv = String.join("\n",
+                "contractName, ClientId ,effectiveDate,contractAmount",
+                "\"" + prefix + " one, quoted \"\"x\"\"\",,2024-01-01,100.50",
+                prefix + " two,abc,,",
+                "",
+                prefix + " three,,,12.345",
+                "\"" + prefix + " unterminated,,,",
+                prefix + " four,,2024-02-30,",
+                prefix + " five,,,5",
+                ",,,",
+                prefix + " six,,,1") + "\n";
+        long counted = counted();
+
+        // the connection drops after line 7; chunks end at lines 3 and 6, line 7 is lost
+        assertThatThrownBy(() -> importService.importContracts(
+                failingAfter(lines(csv, 7)), ContractImportFormat.CSV, null, prefix))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("committed up to line 6");
+        String importId = importIdOf();
+        ContractImportResponse interrupted = importService.getImport(importId);
+        assertThat(interrupted.getStatus()).isEqualTo(ContractImportStatus.IN_PROGRESS);
+        assertThat(interrupted.getLastLine()).isEqualTo(6);
+        assertThat(interrupted.getImported()).isEqualTo(1);
+        assertThat(interrupted.getFailed()).isEqualTo(3);
+
+        // the same file again: the header is read, lines up to the checkpoint are skipped
+        ContractImportResponse done = importService.importContracts(
+                stream(csv), ContractImportFormat.CSV, importId, prefix);
+
+        assertThat(done.getStatus()).isEqualTo(ContractImportStatus.COMPLETED);
+        assertThat(done.getLastLine()).isEqualTo(10);
+        assertThat(done.getImported()).isEqualTo(3);
+        assertThat(done.getFailed()).isEqualTo(5);
+        assertThat(done.getErrors()).extracting(RowError::getLine).containsExactly(3L, 5L, 6L, 7L, 9L);
+        assertThat(done.getErrors()).extracting(RowError::getMessage).containsExactly(
+                "Invalid clientId: abc",
+                "contractAmount does not fit numeric(15, 2)",
+                "Unterminated quoted field",
+                "Invalid effectiveDate: 2024-02-30",
+                "contractName is required");
+
+        Map<String, BigDecimal> amounts = amountsByName();
+        assertThat(amounts).containsOnlyKeys(
+                prefix + " one, quoted \"x\"", prefix + " five", prefix + " six");
+        assertThat(amounts.get(prefix + " one, quoted \"x\"")).isEqualByComparingTo("100.50");
+        assertThat(counted() - counted).isEqualTo(3);
+        assertThat(searchRows()).isEqualTo(3);
+
+        assertThatThrownBy(() -> importService.importContracts(stream(csv), ContractImportFormat.CSV, importId, prefix))
+                .hasMessageContaining("already completed");
+    }
+
+    @Test
+    void ndjsonRowsAreImportedOrReported() {
+        long client = createUser(prefix + "-client", "CLIENT");
+        long legal = createUser(prefix + "-legal", "LEGAL_USER");
+        String ndjson = String.join("\n",
+                "{\"contractName\":\"" + prefix + " a\",\"contractAmount\":10}",
+                "not json",
+                "{\"contractName\":\"\"}",
+                "{\"contractName\":\"" + prefix + " b\",\"clientId\":" + client + "}",
+                "{\"contractName\":\"" + prefix + " c\",\"clientId\":" + legal + "}",
+                "{\"contractName\":\"" + prefix + " d\",\"contractAmount\":-1}");
+
+        ContractImportResponse done = importService.importContracts(
+                stream(ndjson), ContractImportFormat.NDJSON, null, prefix);
+
+        assertThat(done.getStatus()).isEqualTo(ContractImportStatus.COMPLETED);
+        assertThat(done.getImported()).isEqualTo(3);
+        assertThat(done.getErrors()).extracting(RowError::getLine).containsExactly(2L, 3L, 6L);
+        assertThat(done.getErrors().get(2).getMessage()).isEqualTo("contractAmount must not be negative");
+
+        // only a user holding CLIENT becomes the contract's client user
+        assertThat(jdbcTemplate.queryForList(
+                "select client_user_id from contracts where contract_name like ? order by contract_name",
+                Long.class, prefix + " %")).containsExactly(null, client, null);
+
+        assertThatThrownBy(() -> importService.importContracts(
+                stream(ndjson), ContractImportFormat.CSV, done.getImportId(), prefix))
+                .hasMessageContaining("was started as NDJSON");
+    }
+
+    @Test
+    void csvWithoutAContractNameColumnIsRejected() {
+        assertThatThrownBy(() -> importService.importContracts(
+                stream("name,amount\nx,1\n"), ContractImportFormat.CSV, null, prefix))
+                .hasMessage("CSV header must name a contractName column");
+    }
+
+    @Test
+    void twoUploadsResumingTheSameImportCommitOnlyOnce() throws Exception {
+        String csv = String.join("\n",
+                "contractName",
+                prefix + " 1",
+                prefix + " 2",
+                prefix + " 3",
+                prefix + " 4",
+                prefix + " 5") + "\n";
+        assertThatThrownBy(() -> importService.importContracts(
+                failingAfter(lines(csv, 3)), ContractImportFormat.CSV, null, prefix))
+                .isInstanceOf(UncheckedIOException.class);
+        String importId = importIdOf();
+        assertThat(importService.getImport(importId).getLastLine()).isEqualTo(3);
+
+        // the first upload has read line 4 and stalls; the second one finishes in the meantime
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ContractImportResponse> first = executor.submit(() -> importService.importContracts(
+                    stallingAfter(lines(csv, 4), csv.substring(lines(csv, 4).length()), stalled, release),
+                    ContractImportFormat.CSV, importId, prefix));
+            assertThat(stalled.await(10, TimeUnit.SECONDS)).isTrue();
+
+            ContractImportResponse second = importService.importContracts(
+                    stream(csv), ContractImportFormat.CSV, importId, prefix);
+            assertThat(second.getStatus()).isEqualTo(ContractImportStatus.COMPLETED);
+
+            release.countDown();
+            assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class)
+                    .hasMessageContaining("is being resumed by another upload");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        ContractImportResponse done = importService.getImport(importId);
+        assertThat(done.getLastLine()).isEqualTo(6);
+        assertThat(done.getImported()).isEqualTo(5);
+        assertThat(amountsByName()).hasSize(5);
+        assertThat(searchRows()).isEqualTo(5);
+
+        // the compare-and-set behind it
+        assertThat(importRepository.advance(importId, 6, 7, 0, 0, true)).as("completed").isFalse();
+    }
+
+    @Test
+    void checkpointOnlyMovesFromTheExpectedLine() {
+        String importId = UUID.randomUUID().toString();
+        importRepository.create(importId, ContractImportFormat.CSV, prefix);
+
+        assertThat(importRepository.advance(importId, 0, 5, 2, 1, false)).isTrue();
+        assertThat(importRepository.advance(importId, 0, 7, 1, 0, false)).as("stale checkpoint").isFalse();
+        assertThat(importRepository.advance(importId, 5, 9, 1, 0, true)).isTrue();
+
+        ContractImportResponse state = importRepository.find(importId).orElseThrow();
+        assertThat(state.getLastLine()).isEqualTo(9);
+        assertThat(state.getImported()).isEqualTo(3);
+        assertThat(state.getFailed()).isEqualTo(1);
+        assertThat(state.getStatus()).isEqualTo(ContractImportStatus.COMPLETED);
+    }
+
+    // ===== HELPERS =====
+
+    private Map<String, BigDecimal> amountsByName() {
+        Map<String, BigDecimal> amounts = new HashMap<>();
+        jdbcTemplate.query("select contract_name, contract_amount from contracts where contract_name like ?",
+                rs -> {
+                    amounts.put(rs.getString(1), rs.getBigDecimal(2));
+                }, prefix + " %");
+        return amounts;
+    }
+
+    private long searchRows() {
+        return jdbcTemplate.queryForObject("""
+                select count(*) from contract_search s join contracts c on c.id = s.contract_id
+                 where c.contract_name like ?
+                """, Long.class, prefix + " %");
+    }
+
+    // dashboard counter for the status and role new contracts start in
+    private long counted() {
+        Transition initial = workflowEngine.initial();
+        return jdbcTemplate.queryForObject("""
+                select coalesce(sum(contract_count), 0) from contract_counters
+                 where status = ? and assigned_role = ?
+                """, Long.class, initial.status().name(), initial.assignedRole());
+    }
+
+    // the import an upload that failed before answering created
+    private String importIdOf() {
+        return jdbcTemplate.queryForObject("select id from contract_imports where created_by = ?", String.class, prefix);
+    }
+
+    // the first n lines of text, each with its line break
+    private static String lines(String text, int n) {
+        int end = 0;
+        for (int i = 0; i < n; i++) {
+            end = text.indexOf('\n', end) + 1;
+        }
+        return text.substring(0, end);
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static InputStream failingAfter(String text) {
+        return new SequenceInputStream(stream(text), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+    }
+
+    private static InputStream stallingAfter(String head, String rest, CountDownLatch stalled, CountDownLatch release) {
+        return new SequenceInputStream(stream(head), new FilterInputStream(stream(rest)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                stalled.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+                return super.read(b, off, len);
+            }
+        });
+    }
+}
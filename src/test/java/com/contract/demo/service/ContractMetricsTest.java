@@ -0,0 +1,37 @@
+package com.contract.demo.service;
+
+import com.contract.demo.dto.ContractState;
+import com.contract.demo.entity.ContractStatus;
+import com.contract.demo.service.ContractTransitionService.Change;
+import com.contract.demo.service.WorkflowEngine.Transition;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContractMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ContractMetrics metrics = new ContractMetrics(registry);
+
+    @Test
+    void stageDurationRunsFromEnteringTheStage() {
+        LocalDateTime now = LocalDateTime.now();
+        ContractState from = new ContractState(1L, ContractStatus.LEGAL_REVIEW, "LEGAL_USER", null,
+                BigDecimal.TEN, now.minusDays(10), now.minusHours(48));
+
+        // outside a transaction the meters are recorded at once
+        metrics.applied(List.of(new Change(from, new Transition(ContractStatus.FINANCE_REVIEW, "FINANCE_REVIEWER"),
+                2L)));
+
+        Timer stage = registry.get("contracts.stage.duration").tag("stage", "LEGAL_REVIEW").timer();
+        assertThat(stage.count()).isEqualTo(1);
+        assertThat(stage.totalTime(TimeUnit.HOURS)).isBetween(47.9, 48.1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.contract.demo.service;
+
+import com.contract.demo.PostgresIntegrationTest;
+import com.contract.demo.repository.ContractRepository;
+import org.apache.lucene.index.IndexWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A Lucene index (search.mode=lucene) only sees the saves of its own node
+ * and commits on a timer; the catch-up from its commit mark fills in the
+ * rest.
+ */
+class ContractSearchCatchUpTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void picksUpContractsSavedOnOtherNodes() throws Exception {
+        LuceneContractSearchIndex index = new LuceneContractSearchIndex(dir);
+        try {
+            ContractSearchService search = service(index);
+            search.catchUp();
+
+            // saved on another node: never passed to this node's index()
+            String word = word();
+            long elsewhere = insertContract(word);
+            assertThat(found(index, word)).isFalse();
+
+            search.catchUp();
+            assertThat(index.search(word, 0, 10)).extracting(ContractSearchIndex.Hit::contractId)
+                    .containsExactly(elsewhere);
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    void restartAfterACrashReindexesWhatTheLastCommitMissed() throws Exception {
+        LuceneContractSearchIndex index = new LuceneContractSearchIndex(dir);
+        ContractSearchService search = service(index);
+        insertContract(word());
+        search.catchUp();
+        index.commit();
+
+        // indexed, and the mark moved past it, but the node dies before the next commit
+        String word = word();
+        long lost = insertContract(word);
+        search.catchUp();
+        assertThat(found(index, word)).isTrue();
+        ((IndexWriter) ReflectionTestUtils.getField(index, "writer")).rollback();
+
+        LuceneContractSearchIndex restarted = new LuceneContractSearchIndex(dir);
+        try {
+            assertThat(found(restarted, word)).isFalse();
+            assertThat(restarted.staleSince()).get().isNotEqualTo(ContractSearchIndex.BEGINNING);
+
+            service(restarted).catchUp();
+            assertThat(restarted.search(word, 0, 10)).extracting(ContractSearchIndex.Hit::contractId)
+                    .containsExactly(lost);
+        } finally {
+            restarted.close();
+        }
+    }
+
+    private ContractSearchService service(ContractSearchIndex index) {
+        ContractSearchService service = new ContractSearchService(index, contractRepository, transactionTemplate);
+        ReflectionTestUtils.setField(service, "syncOverlap", Duration.ofSeconds(60));
+        return service;
+    }
+
+    private static boolean found(ContractSearchIndex index, String word) {
+        return !index.search(word, 0, 10).isEmpty();
+    }
+
+    // a made-up term no other contract contains
+    private static String word() {
+        return "zq" + UUID.randomUUID().toString().replace("-", "").replaceAll("[0-9]", "x").substring(0, 10);
+    }
+
+    private long insertContract(String word) {
+        return jdbcTemplate.queryForObject("""
+                insert into contracts (contract_name, status, assigned_role, active, current_version, version)
+                values (?, 'LEGAL_REVIEW', 'LEGAL_USER', true, 0, 0)
+                returning id
+                """, Long.class, "catch-up " + word);
+    }
+}
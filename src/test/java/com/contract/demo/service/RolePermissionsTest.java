@@ -0,0 +1,113 @@
+package com.contract.demo.service;
+
+import com.contract.demo.entity.Permission;
+import com.contract.demo.entity.Role;
+import com.contract.demo.entity.RolePermission;
+import com.contract.demo.service.RolePermissions.PermissionTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RolePermissionsTest {
+
+    private static final Permission VIEW = permission(1, "VIEW_LEGAL_CONTRACTS");
+    private static final Permission APPROVE = permission(2, "APPROVE_LEGAL");
+    private static final Permission FINANCE = permission(70, "APPROVE_FINANCE");
+    private static final Permission UNGRANTED = permission(3, "MANAGE_PERMISSIONS");
+
+    private static final Role LEGAL = role("LEGAL_USER");
+    private static final Role FINANCE_REVIEWER = role("FINANCE_REVIEWER");
+
+    private final PermissionTable table = RolePermissions.compile(7,
+            List.of(VIEW, APPROVE, FINANCE, UNGRANTED),
+            List.of(grant(LEGAL, VIEW), grant(LEGAL, APPROVE), grant(FINANCE_REVIEWER, VIEW),
+                    grant(FINANCE_REVIEWER, FINANCE)));
+
+    @Test
+    void permissionsMapToTheirIdAsBit() {
+        assertThat(table.generation()).isEqualTo(7);
+        assertThat(table.bit("VIEW_LEGAL_CONTRACTS")).isEqualTo(1);
+        assertThat(table.bit("APPROVE_FINANCE")).isEqualTo(70);
+        assertThat(table.bit("MANAGE_PERMISSIONS")).isEqualTo(3);
+        assertThat(table.bit("NOT_IN_CATALOG")).isEqualTo(-1);
+    }
+
+    @Test
+    void maskIsTheUnionOfTheRolesGrants() {
+        assertThat(table.mask(Set.of("LEGAL_USER"))).isEqualTo(bits(1, 2));
+        assertThat(table.mask(Set.of("FINANCE_REVIEWER"))).isEqualTo(bits(1, 70));
+        assertThat(table.mask(Set.of("LEGAL_USER", "FINANCE_REVIEWER"))).isEqualTo(bits(1, 2, 70));
+    }
+
+    @Test
+    void rolesWithoutGrantsGetNothing() {
+        assertThat(table.mask(Set.of("CLIENT"))).isEqualTo(new BitSet());
+        assertThat(table.mask(Set.of())).isEqualTo(new BitSet());
+        assertThat(table.mask(Set.of("LEGAL_USER")).get(table.bit("MANAGE_PERMISSIONS"))).isFalse();
+    }
+
+    @Test
+    void superAdminCanAlwaysManagePermissions() {
+        assertThat(table.mask(Set.of("SUPER_ADMIN"))).isEqualTo(bits(3));
+        assertThat(RolePermissions.compile(1, List.of(VIEW), List.of()).mask(Set.of("SUPER_ADMIN")))
+                .isEqualTo(new BitSet());
+    }
+
+    @Test
+    void masksAreCopies() {
+        BitSet mask = table.mask(Set.of("LEGAL_USER"));
+        mask.set(3);
+
+        assertThat(table.mask(Set.of("LEGAL_USER"))).isEqualTo(bits(1, 2));
+    }
+
+    @Test
+    void compiledTableIsImmutable() {
+        assertThatThrownBy(() -> table.bits().put("X", 9)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> table.roles().remove("LEGAL_USER")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void sameGrantsCompileToAnEqualTable() {
+        PermissionTable again = RolePermissions.compile(8, List.of(UNGRANTED, FINANCE, APPROVE, VIEW),
+                List.of(grant(FINANCE_REVIEWER, FINANCE), grant(LEGAL, APPROVE), grant(FINANCE_REVIEWER, VIEW),
+                        grant(LEGAL, VIEW)));
+
+        // reload() keeps the generation when these match
+        assertThat(again.bits()).isEqualTo(table.bits());
+        assertThat(again.roles()).isEqualTo(table.roles());
+    }
+
+    private static BitSet bits(int... set) {
+        BitSet bits = new BitSet();
+        for (int b : set) {
+            bits.set(b);
+        }
+        return bits;
+    }
+
+    private static Permission permission(long id, String name) {
+        Permission p = new Permission();
+        p.setId(id);
+        p.setName(name);
+        return p;
+    }
+
+    private static Role role(String name) {
+        Role r = new Role();
+        r.setName(name);
+        return r;
+    }
+
+    private static RolePermission grant(Role role, Permission permission) {
+        RolePermission grant = new RolePermission();
+        grant.setRole(role);
+        grant.setPermission(permission);
+        return grant;
+    }
+}
@@ -0,0 +1,113 @@
+package com.contract.demo.service;
+
+import com.contract.demo.service.TextDelta.Edit;
+import com.contract.demo.service.TextDelta.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextDeltaTest {
+
+    @Test
+    void randomEditsRoundTrip() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            List<String> base = randomLines(random, random.nextInt(60));
+            List<String> target = edit(random, base);
+            String from = String.join("", base);
+            String to = String.join("", target);
+            if (random.nextBoolean()) {
+                // a last line without its terminator
+                to = to.isEmpty() ? to : to.substring(0, to.length() - 1);
+            }
+
+            String delta = TextDelta.encode(from, to);
+
+            assertThat(delta).as("round %d", round).isNotNull();
+            assertThat(TextDelta.apply(from, delta)).as("round %d", round).isEqualTo(to);
+        }
+    }
+
+    @Test
+    void emptyTexts() {
+        assertRoundTrip("", "");
+        assertRoundTrip("", "a\nb\n");
+        assertRoundTrip("a\nb\n", "");
+        assertRoundTrip(null, "first version\n");
+        assertThat(TextDelta.encode("", "")).isEmpty();
+    }
+
+    @Test
+    void identicalTextsCopyEverything() {
+        String text = "one\ntwo\nthree\n";
+
+        assertThat(TextDelta.encode(text, text)).isEqualTo("=3\n");
+        assertThat(TextDelta.diff(text, text)).extracting(Edit::type).containsOnly(Type.EQUAL);
+        assertRoundTrip(text, text);
+    }
+
+    @Test
+    void diffNumbersLinesOnBothSides() {
+        List<Edit> edits = TextDelta.diff("a\nb\nc\n", "a\nx\nc\n");
+
+        assertThat(edits).containsExactly(
+                new Edit(Type.EQUAL, 1, 1, "a\n"),
+                new Edit(Type.DELETE, 2, null, "b\n"),
+                new Edit(Type.INSERT, null, 2, "x\n"),
+                new Edit(Type.EQUAL, 3, 3, "c\n"));
+    }
+
+    @Test
+    void tooManyChangedLinesGiveNoDelta() {
+        StringBuilder from = new StringBuilder();
+        StringBuilder to = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            from.append("old ").append(i).append('\n');
+            to.append("new ").append(i).append('\n');
+        }
+
+        assertThat(TextDelta.encode(from.toString(), to.toString())).isNull();
+        assertThat(TextDelta.diff(from.toString(), to.toString())).isNull();
+    }
+
+    private static void assertRoundTrip(String from, String to) {
+        String delta = TextDelta.encode(from, to);
+        assertThat(delta).isNotNull();
+        assertThat(TextDelta.apply(from, delta)).isEqualTo(to);
+    }
+
+    // a small alphabet, so lines repeat and the diff has to choose between matches
+    private static List<String> randomLines(Random random, int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add("line " + random.nextInt(8) + "\n");
+        }
+        return lines;
+    }
+
+    private static List<String> edit(Random random, List<String> base) {
+        List<String> lines = new ArrayList<>(base);
+        int edits = random.nextInt(10);
+        for (int e = 0; e < edits; e++) {
+            int at = lines.isEmpty() ? 0 : random.nextInt(lines.size());
+            switch (random.nextInt(3)) {
+                case 0 -> lines.addAll(at, randomLines(random, 1 + random.nextInt(3)));
+                case 1 -> {
+                    if (!lines.isEmpty()) {
+                        lines.remove(at);
+                    }
+                }
+                default -> {
+                    if (!lines.isEmpty()) {
+                        lines.set(at, "changed " + random.nextInt(100) + "\n");
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+}